@@ -0,0 +1,119 @@
+package tropico.benchmarks;
+
+import java.io.FileNotFoundException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tropico.Difficulty;
+import tropico.GameState;
+import tropico.events.Choice;
+import tropico.events.Event;
+
+/**
+ * Benchmarks of the turn loop : the draw of the next event (newEvent, through
+ * nextTurn and endTurn), the choices and the defeat check.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+	/**
+	 * The number of events of the scenario.
+	 */
+	@Param({ "100", "10000" })
+	public int events;
+
+	/**
+	 * The number of factions of the scenario.
+	 */
+	@Param({ "8", "64" })
+	public int factions;
+
+	/**
+	 * The total number of supporters at the start of the game.
+	 */
+	@Param({ "120", "100000" })
+	public int population;
+
+	/**
+	 * The game being benchmarked.
+	 */
+	private GameState game;
+
+	/**
+	 * The choice applied by the choose benchmark.
+	 */
+	private Choice choice;
+
+	/**
+	 * Generates the scenario and creates the game.
+	 * 
+	 * @throws FileNotFoundException If the scenario couldn't be written.
+	 */
+	@Setup
+	public void setup() throws FileNotFoundException {
+		String gamemode = ScenarioGenerator.generate(events, factions, population);
+		game = new GameState(gamemode, Difficulty.MEDIUM, 1, 42);
+		choice = game.getCurrentEvent().getChoices().get(1);
+	}
+
+	/**
+	 * Draws the next event, without changing the season.
+	 * 
+	 * @return Returns the new current event.
+	 */
+	@Benchmark
+	public Event nextTurn() {
+		game.nextTurn();
+		return game.getCurrentEvent();
+	}
+
+	/**
+	 * Draws the next event and goes through the seasons.
+	 * 
+	 * @return Returns the new current event.
+	 */
+	@Benchmark
+	public Event endTurn() {
+		game.endTurn();
+		return game.getCurrentEvent();
+	}
+
+	/**
+	 * Applies the effects of a choice to the player.
+	 * 
+	 * @return Returns the following event of the choice.
+	 */
+	@Benchmark
+	public Event choose() {
+		return choice.choose(game.getPlayer());
+	}
+
+	/**
+	 * Checks if the player is dead.
+	 * 
+	 * @return Returns true if the player is dead.
+	 */
+	@Benchmark
+	public boolean isDead() {
+		return game.getPlayer().isDead();
+	}
+}
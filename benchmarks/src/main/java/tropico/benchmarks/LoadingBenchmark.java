@@ -0,0 +1,172 @@
+package tropico.benchmarks;
+
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.google.gson.stream.JsonReader;
+
+import tropico.Difficulty;
+import tropico.Faction;
+import tropico.GameState;
+import tropico.Scenario;
+import tropico.events.Event;
+import tropico.utils.Backup;
+import tropico.utils.UtilsDeserialization;
+
+/**
+ * Benchmarks of the loading of a scenario (UtilsDeserialization) and of the
+ * saves (Backup).
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoadingBenchmark {
+
+	/**
+	 * The number of events of the scenario.
+	 */
+	@Param({ "100", "10000" })
+	public int events;
+
+	/**
+	 * The number of factions of the scenario.
+	 */
+	@Param({ "8", "64" })
+	public int factions;
+
+	/**
+	 * The total number of supporters at the start of the game.
+	 */
+	@Param({ "120" })
+	public int population;
+
+	/**
+	 * The name of the generated scenario.
+	 */
+	private String gamemode;
+
+	/**
+	 * The path of the events of the scenario.
+	 */
+	private String eventsPath;
+
+	/**
+	 * The factions of the scenario.
+	 */
+	private List<Faction> factionList;
+
+	/**
+	 * The game being saved.
+	 */
+	private GameState game;
+
+	/**
+	 * The file where the game is saved.
+	 */
+	private Path save;
+
+	/**
+	 * Generates the scenario, creates the game and saves it once.
+	 * 
+	 * @throws IOException If the scenario or the save couldn't be written.
+	 */
+	@Setup
+	public void setup() throws IOException {
+		gamemode = ScenarioGenerator.generate(events, factions, population);
+		eventsPath = ScenarioGenerator.path(gamemode, "events.json").toString();
+		factionList = UtilsDeserialization.loadFactions(ScenarioGenerator.path(gamemode, "factions.json").toString());
+		game = new GameState(gamemode, Difficulty.MEDIUM, 2, 42);
+		save = Files.createTempFile("tropico", "_save");
+		Backup.saveGame(save.toString(), game);
+	}
+
+	/**
+	 * Deletes the save.
+	 * 
+	 * @throws IOException If the save couldn't be deleted.
+	 */
+	@TearDown
+	public void tearDown() throws IOException {
+		Files.deleteIfExists(save);
+	}
+
+	/**
+	 * Reads the events of the scenario.
+	 * 
+	 * @return Returns the events.
+	 * @throws IOException If the scenario can't be read.
+	 */
+	@Benchmark
+	public List<Event> deserialize() throws IOException {
+		try (JsonReader reader = new JsonReader(new FileReader(eventsPath))) {
+			return new UtilsDeserialization(factionList).read(reader);
+		}
+	}
+
+	/**
+	 * Encodes the game, without writing the file.
+	 * 
+	 * @return Returns the bytes of the save.
+	 */
+	@Benchmark
+	public byte[] encode() {
+		return Backup.encode(game);
+	}
+
+	/**
+	 * Saves the game.
+	 * 
+	 * @throws IOException If the save couldn't be written.
+	 */
+	@Benchmark
+	public void saveGame() throws IOException {
+		Backup.saveGame(save.toString(), game);
+	}
+
+	/**
+	 * Loads the scenario, from its compiled image once it is cached.
+	 * 
+	 * @return Returns the scenario.
+	 * @throws FileNotFoundException If the scenario doesn't exist.
+	 */
+	@Benchmark
+	public Scenario loadScenario() throws FileNotFoundException {
+		return Scenario.load(gamemode);
+	}
+
+	/**
+	 * Loads the game. The scenario is shared through the ScenarioRegistry, so
+	 * only the state of the game is read.
+	 * 
+	 * @return Returns the loaded game.
+	 * @throws IOException If the save couldn't be read.
+	 */
+	@Benchmark
+	public GameState loadGame() throws IOException {
+		return Backup.loadGame(save.toString());
+	}
+}
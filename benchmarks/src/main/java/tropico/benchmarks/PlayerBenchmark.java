@@ -0,0 +1,187 @@
+package tropico.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tropico.Difficulty;
+import tropico.Faction;
+import tropico.FactionSet;
+import tropico.Player;
+import tropico.Resources;
+import tropico.utils.GameRandom;
+
+/**
+ * Benchmarks of the end of the year (generateResources), once with a famine
+ * killing half of the supporters (killSupporters) and once with a good harvest
+ * (generateNewSupporters). A new player is created before each call, as
+ * generateResources changes it.
+ * 
+ * The check of the defeat (isDead), done after each choice for every player,
+ * is benchmarked on a player which isn't changed.
+ * 
+ * The farming can feed at most 1000 supporters, so the growth is only
+ * benchmarked with smaller populations.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+
+	/**
+	 * A player at the end of a year without enough food.
+	 */
+	@State(Scope.Thread)
+	public static class Famine {
+
+		/**
+		 * The number of factions of the player.
+		 */
+		@Param({ "8", "64" })
+		public int factions;
+
+		/**
+		 * The total number of supporters of the player.
+		 */
+		@Param({ "1000", "100000" })
+		public int population;
+
+		/**
+		 * The player being benchmarked.
+		 */
+		private Player player;
+
+		/**
+		 * Creates a player with food for half of the supporters.
+		 */
+		@Setup(Level.Invocation)
+		public void setup() {
+			player = player(factions, population, new Resources(50, 0, 0, population * 2));
+		}
+	}
+
+	/**
+	 * A player at the end of a year with enough farming to get new supporters.
+	 */
+	@State(Scope.Thread)
+	public static class Growth {
+
+		/**
+		 * The number of factions of the player.
+		 */
+		@Param({ "8", "64" })
+		public int factions;
+
+		/**
+		 * The total number of supporters of the player.
+		 */
+		@Param({ "120", "900" })
+		public int population;
+
+		/**
+		 * The player being benchmarked.
+		 */
+		private Player player;
+
+		/**
+		 * Creates a player with all the farming possible.
+		 */
+		@Setup(Level.Invocation)
+		public void setup() {
+			player = player(factions, population, new Resources(0, 100, 0, 0));
+		}
+	}
+
+	/**
+	 * A player whose defeat is checked.
+	 */
+	@State(Scope.Thread)
+	public static class Defeat {
+
+		/**
+		 * The number of factions of the player.
+		 */
+		@Param({ "8", "64", "512" })
+		public int factions;
+
+		/**
+		 * The player being benchmarked.
+		 */
+		private Player player;
+
+		/**
+		 * Creates a player with 1000 supporters in each faction.
+		 */
+		@Setup
+		public void setup() {
+			player = player(factions, factions * 1000, new Resources(0, 0, 0, 0));
+		}
+	}
+
+	/**
+	 * Creates a player with factions sharing the population.
+	 * 
+	 * @param factions   The number of factions.
+	 * @param population The total number of supporters.
+	 * @param resources  The resources of the player.
+	 * @return Returns the new player.
+	 */
+	private static Player player(int factions, int population, Resources resources) {
+		List<Faction> list = new ArrayList<>();
+		for (int i = 0; i < factions; i++) {
+			list.add(new Faction(ScenarioGenerator.factionName(i), 60, population / factions));
+		}
+		return new Player("Player 1", new FactionSet(list), resources, new GameRandom(42), Difficulty.MEDIUM);
+	}
+
+	/**
+	 * Ends a year with a famine.
+	 * 
+	 * @param state The player without enough food.
+	 * @return Returns the summary of the year.
+	 */
+	@Benchmark
+	public String famine(Famine state) {
+		return state.player.generateResources();
+	}
+
+	/**
+	 * Ends a year with new supporters.
+	 * 
+	 * @param state The player with enough farming.
+	 * @return Returns the summary of the year.
+	 */
+	@Benchmark
+	public String growth(Growth state) {
+		return state.player.generateResources();
+	}
+
+	/**
+	 * Checks if the player lost.
+	 * 
+	 * @param state The player.
+	 * @return Returns true if the player lost.
+	 */
+	@Benchmark
+	public boolean isDead(Defeat state) {
+		return state.player.isDead();
+	}
+}
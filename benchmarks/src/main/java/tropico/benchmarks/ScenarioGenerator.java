@@ -0,0 +1,158 @@
+package tropico.benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+/**
+ * This class writes synthetic scenarios, so that the benchmarks can measure
+ * the game with any number of events, factions and supporters. The scenarios
+ * are written in a temporary directory, which is given to the game through the
+ * system property tropico.scenarios.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public final class ScenarioGenerator {
+
+	/**
+	 * The directory containing the generated scenarios.
+	 */
+	private static final Path SCENARIOS = Path.of(System.getProperty("java.io.tmpdir"), "tropico-benchmarks",
+			"scenarios");
+
+	/**
+	 * The seasons of the game, as written in the json files.
+	 */
+	private static final String[] SEASONS = { "SPRING", "SUMMER", "AUTUMN", "WINTER" };
+
+	/**
+	 * The resources of the game, as written in the json files.
+	 */
+	private static final String[] RESOURCES = { "INDUSTRY", "FARMING", "TREASURY", "FOODUNIT" };
+
+	static {
+		System.setProperty("tropico.scenarios", SCENARIOS.toString());
+	}
+
+	/**
+	 * No instance of this class.
+	 */
+	private ScenarioGenerator() {
+	}
+
+	/**
+	 * Writes a scenario, if it doesn't already exist, and returns its gamemode.
+	 * 
+	 * @param events     The number of events of the scenario.
+	 * @param factions   The number of factions of the scenario.
+	 * @param population The total number of supporters at the start of the game.
+	 * @return Returns the name of the gamemode.
+	 */
+	public static String generate(int events, int factions, int population) {
+		String gamemode = "bench_" + events + "_" + factions + "_" + population;
+		Path dir = SCENARIOS.resolve(gamemode);
+		try {
+			Files.createDirectories(dir);
+			Files.writeString(dir.resolve("factions.json"), factions(factions, population));
+			Files.writeString(dir.resolve("resources.json"),
+					"{\"industry\": 30, \"farming\": 30, \"treasury\": 500}");
+			Files.writeString(dir.resolve("events.json"), events(events, factions));
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return gamemode;
+	}
+
+	/**
+	 * Returns the path of a file of a generated scenario.
+	 * 
+	 * @param gamemode The name of the gamemode.
+	 * @param file     The name of the file.
+	 * @return Returns the path of the file.
+	 */
+	public static Path path(String gamemode, String file) {
+		return SCENARIOS.resolve(gamemode).resolve(file);
+	}
+
+	/**
+	 * Returns the name of a faction of a generated scenario.
+	 * 
+	 * @param index The index of the faction.
+	 * @return Returns the name of the faction.
+	 */
+	public static String factionName(int index) {
+		return index == 0 ? "loyalistes" : "faction" + index;
+	}
+
+	/**
+	 * Builds the json of the factions, sharing the population between them.
+	 * 
+	 * @param factions   The number of factions.
+	 * @param population The total number of supporters.
+	 * @return Returns the content of factions.json.
+	 */
+	private static String factions(int factions, int population) {
+		StringBuilder str = new StringBuilder("[");
+		for (int i = 0; i < factions; i++) {
+			str.append(i == 0 ? "" : ",").append("{\"name\": \"").append(factionName(i))
+					.append("\", \"satisfaction\": ").append(i == 0 ? 100 : 60).append(", \"supporter\": ")
+					.append(population / factions).append("}");
+		}
+		return str.append("]").toString();
+	}
+
+	/**
+	 * Builds the json of the events. Every tenth event has a following event.
+	 * 
+	 * @param events   The number of events.
+	 * @param factions The number of factions.
+	 * @return Returns the content of events.json.
+	 */
+	private static String events(int events, int factions) {
+		Random random = new Random(events * 31L + factions);
+		StringBuilder str = new StringBuilder("[");
+		for (int i = 0; i < events; i++) {
+			str.append(i == 0 ? "" : ",");
+			event(str, "Event " + i, random, factions, i % 10 == 0);
+		}
+		return str.append("]").toString();
+	}
+
+	/**
+	 * Appends the json of an event.
+	 * 
+	 * @param str      The StringBuilder where the event is written.
+	 * @param name     The name of the event.
+	 * @param random   The random generator choosing the effects.
+	 * @param factions The number of factions.
+	 * @param chained  True if the first choice has a following event.
+	 */
+	private static void event(StringBuilder str, String name, Random random, int factions, boolean chained) {
+		str.append("{\"name\": \"").append(name).append("\", \"seasons\": [\"").append(SEASONS[random.nextInt(4)])
+				.append("\"");
+		if (random.nextBoolean()) {
+			str.append(", \"").append(SEASONS[random.nextInt(4)]).append("\"");
+		}
+		str.append("], \"choices\": [");
+		for (int i = 0; i < 3; i++) {
+			str.append(i == 0 ? "" : ",").append("{\"label\": \"Choice ").append(i).append("\", \"effects\": [");
+			str.append("{\"type\": \"satisfaction\", \"faction\": \"").append(factionName(random.nextInt(factions)))
+					.append("\", \"value\": ").append(random.nextInt(41) - 20).append("},");
+			str.append("{\"type\": \"supporter\", \"faction\": \"").append(factionName(random.nextInt(factions)))
+					.append("\", \"value\": ").append(random.nextInt(21) - 10).append(", \"percentage\": true},");
+			str.append("{\"type\": \"satisfaction\", \"faction\": \"all\", \"value\": ")
+					.append(random.nextInt(11) - 5).append("},");
+			str.append("{\"type\": \"resources\", \"resource\": \"").append(RESOURCES[random.nextInt(4)])
+					.append("\", \"value\": ").append(random.nextInt(41) - 20).append("}]");
+			if (i == 0 && chained) {
+				str.append(", \"next\": ");
+				event(str, name + " (suite)", random, factions, false);
+			}
+			str.append("}");
+		}
+		str.append("]}");
+	}
+}
@@ -0,0 +1,104 @@
+package tropico.benchmarks;
+
+import java.io.FileNotFoundException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import tropico.Difficulty;
+import tropico.GameState;
+import tropico.ai.ExpectimaxSolver;
+import tropico.ai.Recommendation;
+import tropico.simulation.Simulation;
+import tropico.simulation.SimulationResult;
+import tropico.utils.GameRandom;
+
+/**
+ * Benchmarks of the ExpectimaxSolver : one search of the current event with an
+ * empty transposition table, and a game of two players played by a Simulation
+ * whose policy is a single solver, which keeps its table from one turn to
+ * another and from one player to the other.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SolverBenchmark {
+
+	/**
+	 * The number of turns searched.
+	 */
+	@Param({ "2", "3" })
+	public int depth;
+
+	/**
+	 * The number of turns of the simulated game.
+	 */
+	private static final int TURNS = 8;
+
+	/**
+	 * The game at its first turn, forked by each invocation.
+	 */
+	private GameState game;
+
+	/**
+	 * The solver, created before each invocation so that its table is empty.
+	 */
+	private ExpectimaxSolver solver;
+
+	/**
+	 * Generates the scenario and creates a game of two players.
+	 * 
+	 * @throws FileNotFoundException If the scenario couldn't be written.
+	 */
+	@Setup
+	public void setup() throws FileNotFoundException {
+		String gamemode = ScenarioGenerator.generate(20, 8, 120);
+		game = new GameState(gamemode, Difficulty.MEDIUM, 2, 42);
+	}
+
+	/**
+	 * Creates a solver with an empty table of 2^16 slots.
+	 */
+	@Setup(Level.Invocation)
+	public void newSolver() {
+		solver = new ExpectimaxSolver(depth, 2, 16, new GameRandom(42));
+	}
+
+	/**
+	 * Searches the choices of the first event.
+	 * 
+	 * @return Returns the recommendations.
+	 */
+	@Benchmark
+	public List<Recommendation> solve() {
+		return solver.solve(game);
+	}
+
+	/**
+	 * Plays a few turns of both players with the solver.
+	 * 
+	 * @return Returns the result of the game.
+	 */
+	@Benchmark
+	public SimulationResult simulate() {
+		return new Simulation(solver, TURNS).run(game.fork());
+	}
+}
@@ -0,0 +1,67 @@
+package tropico;
+
+/**
+ * This enum contains the 3 different difficulties. Each game has its own
+ * difficulty, so games with different difficulties can share the same
+ * scenario : the values of the scenario are never scaled, the difficulty is
+ * applied when an effect is applied to a player.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public enum Difficulty {
+	EASY(10, 0.5f), MEDIUM(30, 1), HARD(50, 1.5f);
+
+	/**
+	 * The average satisfaction under which a player loses.
+	 */
+	private final int defeatThreshold;
+
+	/**
+	 * The multiplier of the resources lost by a player.
+	 */
+	private final float lossMultiplier;
+
+	/**
+	 * <b>Difficulty's constructor</b>
+	 * 
+	 * @param defeatThreshold The average satisfaction under which a player loses.
+	 * @param lossMultiplier  The multiplier of the resources lost by a player.
+	 */
+	private Difficulty(int defeatThreshold, float lossMultiplier) {
+		this.defeatThreshold = defeatThreshold;
+		this.lossMultiplier = lossMultiplier;
+	}
+
+	/**
+	 * Getter for the field defeatThreshold.
+	 * 
+	 * @return Returns the average satisfaction under which a player loses.
+	 */
+	public int getDefeatThreshold() {
+		return defeatThreshold;
+	}
+
+	/**
+	 * Getter for the field lossMultiplier.
+	 * 
+	 * @return Returns the multiplier of the resources lost by a player.
+	 */
+	public float getLossMultiplier() {
+		return lossMultiplier;
+	}
+
+	/**
+	 * Scales a change of a resource : a loss is multiplied by the multiplier of
+	 * the difficulty, a gain is unchanged.
+	 * 
+	 * @param value The change of the resource, as written in the scenario.
+	 * @return Returns the change applied to the player.
+	 */
+	public int scaleLoss(int value) {
+		if (value < 0) {
+			value *= lossMultiplier;
+		}
+		return value;
+	}
+}
@@ -1,7 +1,5 @@
 package tropico;
 
-import tropico.utils.Utils;
-
 import java.io.Serializable;
 import java.util.Objects;
 
@@ -13,6 +11,10 @@ import java.util.Objects;
  * <li>The faction's supporter count</li>
  * </ul>
  * 
+ * A faction never changes : it is either a faction of a scenario, with its
+ * starting values, or a copy of the values of a player's faction. The values
+ * of the players' factions are kept by the players.
+ * 
  * @author Corentin OGER and Sébastien DOS SANTOS
  *
  */
@@ -26,12 +28,12 @@ public class Faction implements Serializable {
 	/**
 	 * The minimum satisfaction possible
 	 */
-	private static final int SATISFACTION_MIN = 0;
+	static final int SATISFACTION_MIN = 0;
 
 	/**
 	 * The maximum satisfaction possible
 	 */
-	private static final int SATISFACTION_MAX = 100;
+	static final int SATISFACTION_MAX = 100;
 
 	/**
 	 * The name of the faction
@@ -41,12 +43,12 @@ public class Faction implements Serializable {
 	/**
 	 * Satisfaction is a int which represents a percentage
 	 */
-	private int satisfaction;
+	private final int satisfaction;
 
 	/**
 	 * The faction's supporter count
 	 */
-	private int supporter;
+	private final int supporter;
 
 	/**
 	 * <b>Faction's constructor</b>
@@ -130,55 +132,6 @@ public class Faction implements Serializable {
 		return this.name.equals(name);
 	}
 
-	/**
-	 * Adds the int value to the satisfaction, but limits it. Only works if the
-	 * satisfaction isn't equal to 0.
-	 * 
-	 * @param value The int that will be added to the satisfaction.
-	 */
-	public void addSatisfaction(int value) {
-		if (!hasZeroSatisfaction()) {
-			satisfaction = Utils.limit(satisfaction + value, SATISFACTION_MIN, SATISFACTION_MAX);
-		}
-	}
-
-	/**
-	 * Adds the int value to the supporter field. Sets it to 0 if supporter + count
-	 * is inferior to it.
-	 * 
-	 * @param count The int that will be added to supporter.
-	 */
-	public void addSupporter(int count) {
-		supporter += count;
-		if (supporter < 0) {
-			supporter = 0;
-		}
-	}
-
-	/**
-	 * Changes the supporter count according to a percentage. Sets it to 0 if
-	 * supporter + count is inferior to it.
-	 * 
-	 * @param percentage the percentage which will be added to supporter.
-	 */
-	public void addSupporterPercentage(int percentage) {
-		supporter += supporter * percentage / 100;
-		if (supporter < 0) {
-			supporter = 0;
-		}
-	}
-
-	/**
-	 * This method removes a supporter, but throws an exception if supporter field
-	 * is equal to 0.
-	 */
-	public void killSupporter() {
-		if (supporter == 0) {
-			throw new IllegalStateException("The supporter field is already at 0.");
-		}
-		supporter--;
-	}
-
 	@Override
 	public String toString() {
 		return name + " : " + satisfaction + "% / " + supporter;
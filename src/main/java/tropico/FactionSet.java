@@ -0,0 +1,122 @@
+package tropico;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class contains the factions of a scenario, as they are at the start of
+ * a game. It never changes, so it is shared by all the players, who keep the
+ * satisfaction and the supporters of each faction in arrays indexed like this
+ * set.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class FactionSet implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The factions of the scenario, with their starting satisfaction and
+	 * supporters.
+	 */
+	private final List<Faction> factions;
+
+	/**
+	 * The index of each faction, by name.
+	 */
+	private final Map<String, Integer> indexes = new HashMap<>();
+
+	/**
+	 * <b>FactionSet's constructor</b>
+	 * 
+	 * Creates the set from the factions of the scenario. Two factions can't have
+	 * the same name.
+	 * 
+	 * @param factions The factions of the scenario.
+	 */
+	public FactionSet(List<Faction> factions) {
+		this.factions = List.copyOf(factions);
+		for (int i = 0; i < this.factions.size(); i++) {
+			if (indexes.put(this.factions.get(i).getName(), i) != null) {
+				throw new IllegalArgumentException("The faction \"" + this.factions.get(i).getName()
+						+ "\" is defined twice.");
+			}
+		}
+	}
+
+	/**
+	 * This method returns the number of factions.
+	 * 
+	 * @return Returns the number of factions.
+	 */
+	public int size() {
+		return factions.size();
+	}
+
+	/**
+	 * Getter for the field factions.
+	 * 
+	 * @return Returns the unmodifiable list of the factions, with their starting
+	 *         values.
+	 */
+	public List<Faction> getFactions() {
+		return factions;
+	}
+
+	/**
+	 * This method returns the faction of an index, with its starting values.
+	 * 
+	 * @param index The index of the faction.
+	 * @return Returns the faction.
+	 */
+	public Faction get(int index) {
+		return factions.get(index);
+	}
+
+	/**
+	 * This method returns the name of the faction of an index.
+	 * 
+	 * @param index The index of the faction.
+	 * @return Returns the name of the faction.
+	 */
+	public String getName(int index) {
+		return factions.get(index).getName();
+	}
+
+	/**
+	 * Checks if a faction has this name.
+	 * 
+	 * @param name The name of the faction.
+	 * @return Returns true if a faction has this name, false otherwise.
+	 */
+	public boolean contains(String name) {
+		return indexes.containsKey(name);
+	}
+
+	/**
+	 * Searches the index of a faction from its name. If it doesn't exist, an
+	 * IllegalArgumentException is thrown.
+	 * 
+	 * @param name The name of one of the factions.
+	 * @return Returns the index of the faction.
+	 */
+	public int indexOf(String name) {
+		Integer index = indexes.get(Objects.requireNonNull(name));
+		if (index == null) {
+			throw new IllegalArgumentException('"' + name + "\" is not a faction's name.");
+		}
+		return index;
+	}
+
+	@Override
+	public String toString() {
+		return factions.toString();
+	}
+}
@@ -1,29 +1,29 @@
 package tropico;
 
-import com.google.gson.Gson;
-import com.google.gson.GsonBuilder;
-import com.google.gson.reflect.TypeToken;
-import com.google.gson.stream.JsonReader;
-
+import tropico.events.Choice;
 import tropico.events.Event;
-import tropico.utils.UtilsDeserialization;
+import tropico.events.EventPool;
+import tropico.events.PendingEventQueue;
+import tropico.utils.GameRandom;
+import tropico.utils.Journal;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
 
 import java.io.FileNotFoundException;
-import java.io.FileReader;
+import java.io.IOException;
 import java.io.Serializable;
-import java.lang.reflect.Type;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * This class stocks all the information about the game, including :
  * <ul>
- * <li>A list of possible events</li>
- * <li>A list of already used events</li>
- * <li>A list of events that will be available after a certain action</li>
+ * <li>The scenario, shared with the other games of this scenario</li>
+ * <li>The difficulty of the game</li>
+ * <li>A pool of the events, available or already used, sorted by season</li>
+ * <li>A queue of events that will be available after a certain action</li>
  * <li>A PlayerManagement object, that contains informations about the
  * players</li>
- * <li>The name of the gamemode</li>
  * <li>The current event, which changes every turn</li>
  * <li>The current season, which changes after all the players played a
  * turn</li>
@@ -41,27 +41,29 @@ public class GameState implements Serializable {
 	private static final long serialVersionUID = 1L;
 
 	/**
-	 * Static String containing the path to the scenarios' directories.
+	 * The scenario of the game : its factions, its events and its settings. The
+	 * state of the game refers to the events by their numbers in the scenario.
 	 */
-	private static final String SCENARIO_PATH = "src/main/resources/scenarios";
+	private final Scenario scenario;
 
 	/**
-	 * The list which contains the events that can occur right now, if the current
-	 * season is the right one.
+	 * The difficulty of the game. The scenario isn't scaled by the difficulty, so
+	 * games with different difficulties can share it.
 	 */
-	private final List<Event> events;
+	private final Difficulty difficulty;
 
 	/**
-	 * A list of already used events, the events can be re-used once there's no more
-	 * event for a season.
+	 * The pool which contains the events that can occur right now, if the current
+	 * season is the right one, and the already used ones. The events can be
+	 * re-used once there's no more event for a season.
 	 */
-	private final List<Event> usedEvents = new ArrayList<>();
+	private final EventPool events;
 
 	/**
-	 * A list of events that aren't available. The events are added to events once
+	 * A queue of events that aren't available. The events are added to it once
 	 * certains choices are made.
 	 */
-	private final List<Event> pendingEvents = new ArrayList<>();
+	private final PendingEventQueue pendingEvents;
 
 	/**
 	 * A PlayerManagement object, that contains informations about the players.
@@ -69,14 +71,9 @@ public class GameState implements Serializable {
 	private final PlayerManagement players;
 
 	/**
-	 * The name of the gamemode.
+	 * The number of the current event, which changes every turn.
 	 */
-	private final String gamemode;
-
-	/**
-	 * The current event, which changes every turn.
-	 */
-	private Event currentEvent;
+	private int currentEvent;
 
 	/**
 	 * The current season, which changes after all the players played a turn.
@@ -88,30 +85,42 @@ public class GameState implements Serializable {
 	 */
 	private int turn;
 
+	/**
+	 * The random generator of the game, created from the seed of the game and
+	 * saved with it, so that a game can be replayed. Each player has his own
+	 * generator, split from this one.
+	 */
+	private final GameRandom random;
+
+	/**
+	 * The journal recording the turns of the game, null if they aren't recorded.
+	 * Neither saved nor forked.
+	 */
+	private transient Journal journal;
+
 	/**
 	 * <b>GameState's constructor</b>
 	 *
-	 * Creates all the game's informations, based on json files found using
-	 * SCENARIO_PATH concatenated with the gamemode. Also needs the number of
-	 * players.
+	 * Creates a new game of a scenario. The scenario isn't copied, so it can be
+	 * shared by many games.
 	 *
-	 * @param gamemode      A String that must contains the gamemode entered by the
-	 *                      user.
+	 * @param scenario      The scenario of the game.
+	 * @param difficulty    The difficulty of the game.
 	 * @param playerNumbers An int representing the number of players.
-	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
-	 *                               wrong.
+	 * @param seed          The seed of all the random draws of the game.
 	 */
-	public GameState(String gamemode, int playerNumbers) throws FileNotFoundException {
+	public GameState(Scenario scenario, Difficulty difficulty, int playerNumbers, long seed) {
 		if (playerNumbers < 0) {
 			throw new IllegalArgumentException("The number of players must be superior or equal to 0.");
 		}
+		this.scenario = Objects.requireNonNull(scenario);
+		this.difficulty = Objects.requireNonNull(difficulty);
 		this.season = Season.SPRING;
-		this.gamemode = Objects.requireNonNull(gamemode);
-		String path = SCENARIO_PATH + "/" + gamemode + "/";
+		this.random = new GameRandom(seed);
+		this.pendingEvents = new PendingEventQueue();
 
-		players = new PlayerManagement(path, playerNumbers);
-		List<Faction> factions = getPlayer().getFactions();
-		events = loadEvents(factions, path + "events.json");
+		players = new PlayerManagement(scenario, playerNumbers, random, difficulty);
+		events = new EventPool(scenario);
 		currentEvent = newEvent();
 		turn = 1;
 	}
@@ -119,13 +128,170 @@ public class GameState implements Serializable {
 	/**
 	 * <b>GameState's second constructor</b>
 	 *
-	 * Calls the first constructor with one player and the default mode (sandbox).
+	 * Creates a new game of a gamemode. The scenario of the gamemode is loaded
+	 * from the json files of its directory the first time, then shared through
+	 * the ScenarioRegistry. Also needs the difficulty and the number of players.
+	 *
+	 * @param gamemode      A String that must contains the gamemode entered by the
+	 *                      user.
+	 * @param difficulty    The difficulty of the game.
+	 * @param playerNumbers An int representing the number of players.
+	 * @param seed          The seed of all the random draws of the game.
+	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
+	 *                               wrong.
+	 */
+	public GameState(String gamemode, Difficulty difficulty, int playerNumbers, long seed)
+			throws FileNotFoundException {
+		this(ScenarioRegistry.get(gamemode), difficulty, playerNumbers, seed);
+	}
+
+	/**
+	 * <b>GameState's third constructor</b>
+	 *
+	 * Calls the second constructor with a random seed.
+	 *
+	 * @param gamemode      A String that must contains the gamemode entered by the
+	 *                      user.
+	 * @param difficulty    The difficulty of the game.
+	 * @param playerNumbers An int representing the number of players.
+	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
+	 *                               wrong.
+	 */
+	public GameState(String gamemode, Difficulty difficulty, int playerNumbers) throws FileNotFoundException {
+		this(gamemode, difficulty, playerNumbers, ThreadLocalRandom.current().nextLong());
+	}
+
+	/**
+	 * <b>GameState's fourth constructor</b>
+	 *
+	 * Calls the third constructor with one player, the default mode (sandbox) and
+	 * the medium difficulty.
 	 *
 	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
 	 *                               wrong.
 	 */
 	public GameState() throws FileNotFoundException {
-		this("bac_a_sable", 1);
+		this("bac_a_sable", Difficulty.MEDIUM, 1);
+	}
+
+	/**
+	 * <b>GameState's fifth constructor</b>
+	 *
+	 * Creates a fork of a game. The scenario (the events, their choices and the
+	 * factions) and the difficulty are shared, only the state of the game is
+	 * copied : the players, the pending events and the random generator. The pool
+	 * of events is shared until one of the games draws an event.
+	 *
+	 * @param game   The game to fork.
+	 * @param random The random generator of the fork.
+	 * @param split  True if the generators of the players are split from random,
+	 *               false if they are copies of the ones of the game.
+	 */
+	private GameState(GameState game, GameRandom random, boolean split) {
+		this.scenario = game.scenario;
+		this.difficulty = game.difficulty;
+		this.events = game.events.fork();
+		this.pendingEvents = game.pendingEvents.copy();
+		this.players = game.players.copy(split ? random : null);
+		this.currentEvent = game.currentEvent;
+		this.season = game.season;
+		this.turn = game.turn;
+		this.random = random;
+	}
+
+	/**
+	 * <b>GameState's sixth constructor</b>
+	 *
+	 * Reads a game written by write, the scenario being already loaded.
+	 *
+	 * @param scenario The scenario of the game.
+	 * @param in       The reader of the save.
+	 * @throws IOException Throws an IOException if the save is truncated or
+	 *                     doesn't match the scenario.
+	 */
+	private GameState(Scenario scenario, SaveReader in) throws IOException {
+		this.scenario = scenario;
+		if (in.readLong() != scenario.checksum()) {
+			throw new IOException("The save doesn't match the events of the scenario " + scenario.getName() + ".");
+		}
+		Difficulty[] difficulties = Difficulty.values();
+		difficulty = difficulties[in.readInt(0, difficulties.length - 1)];
+
+		players = new PlayerManagement(scenario, in, difficulty);
+		events = new EventPool(scenario);
+		events.read(in);
+		pendingEvents = new PendingEventQueue();
+		pendingEvents.read(in, scenario);
+
+		currentEvent = in.readInt(0, scenario.getEventCount() - 1);
+		season = Season.values()[in.readInt(0, Season.values().length - 1)];
+		turn = in.readInt(1, Integer.MAX_VALUE);
+		random = GameRandom.read(in);
+	}
+
+	/**
+	 * Writes the game into a save. The scenario isn't written, only its name : the
+	 * events are referred to by their numbers in the scenario.
+	 *
+	 * @param out The writer of the save.
+	 */
+	public void write(SaveWriter out) {
+		out.writeString(scenario.getName());
+		out.writeLong(scenario.checksum());
+		out.writeInt(difficulty.ordinal());
+		players.write(out);
+		events.write(out);
+		pendingEvents.write(out);
+
+		out.writeInt(currentEvent);
+		out.writeInt(season.ordinal());
+		out.writeInt(turn);
+		random.write(out);
+	}
+
+	/**
+	 * Reads a game written by write. The scenario of the gamemode is taken from
+	 * the ScenarioRegistry, and only the state of the game is read from the save.
+	 *
+	 * @param in The reader of the save.
+	 * @return Returns the game.
+	 * @throws IOException Throws an IOException if the scenario can't be loaded,
+	 *                     or if the save is truncated or doesn't match the
+	 *                     scenario.
+	 */
+	public static GameState read(SaveReader in) throws IOException {
+		Scenario scenario = ScenarioRegistry.get(in.readString());
+		return new GameState(scenario, in);
+	}
+
+	/**
+	 * Creates a fork of this game, in the exact same state : the fork will draw
+	 * the same random numbers as this game.
+	 *
+	 * @return Returns the fork.
+	 */
+	public GameState fork() {
+		return new GameState(this, random.copy(), false);
+	}
+
+	/**
+	 * Creates a fork of this game with new random generators, so that the fork
+	 * has a different future from this game.
+	 *
+	 * @param seed The seed of the random generators of the fork.
+	 * @return Returns the fork.
+	 */
+	public GameState fork(long seed) {
+		return new GameState(this, new GameRandom(seed), true);
+	}
+
+	/**
+	 * Getter for the field difficulty.
+	 *
+	 * @return Returns the difficulty of the game.
+	 */
+	public Difficulty getDifficulty() {
+		return difficulty;
 	}
 
 	/**
@@ -137,6 +303,24 @@ public class GameState implements Serializable {
 		return players.getPlayer();
 	}
 
+	/**
+	 * This method returns all the players of the game.
+	 *
+	 * @return Returns an unmodifiable list of the players.
+	 */
+	public List<Player> getPlayers() {
+		return players.getPlayers();
+	}
+
+	/**
+	 * Getter for the season field.
+	 *
+	 * @return Returns the current season.
+	 */
+	public Season getSeason() {
+		return season;
+	}
+
 	/**
 	 * Getter for the turn field.
 	 *
@@ -147,21 +331,30 @@ public class GameState implements Serializable {
 	}
 
 	/**
-	 * Getter for the currentEvent field.
+	 * Returns the current event.
 	 *
 	 * @return Returns the Event occuring this turn.
 	 */
 	public Event getCurrentEvent() {
-		return currentEvent;
+		return scenario.getEvent(currentEvent);
+	}
+
+	/**
+	 * Getter for the scenario field.
+	 *
+	 * @return Returns the scenario of the game.
+	 */
+	public Scenario getScenario() {
+		return scenario;
 	}
 
 	/**
-	 * Getter for the gamemode field.
+	 * Returns the name of the gamemode.
 	 *
 	 * @return Returns a String which represents the gamemode.
 	 */
 	public String getGamemode() {
-		return gamemode;
+		return scenario.getName();
 	}
 
 	/**
@@ -184,73 +377,155 @@ public class GameState implements Serializable {
 	}
 
 	/**
-	 * Updates the game and makes it ready for the next turn.
+	 * Applies the choice to the current player, and adds the event following this
+	 * choice to pendingEvents if there is one.
+	 *
+	 * @param choice The choice made by the current player for the current event.
 	 */
-	public void nextTurn() {
-		currentEvent = newEvent();
-		turn++;
+	public void applyChoice(Choice choice) {
+		if (journal != null) {
+			journal.choice(this, getCurrentEvent().getChoices().indexOf(choice));
+		}
+		Event next = choice.choose(getPlayer());
+		if (next != null) {
+			addPendingEvent(next);
+		}
+	}
 
-		players.nextTurn();
+	/**
+	 * Makes the current player bribe a faction, see Player.bribe.
+	 *
+	 * @param f The faction to bribe.
+	 * @return Returns true if the bribe was possible, false otherwise.
+	 */
+	public boolean bribe(Faction f) {
+		Player p = getPlayer();
+		if (!p.bribe(f)) {
+			return false;
+		}
+		if (journal != null) {
+			journal.bribe(p.getFactionIndex(f.getName()));
+		}
+		return true;
 	}
 
 	/**
-	 * Selects a new event to be the currentEvent.
+	 * Makes the current player buy food, see Player.buyFood.
 	 *
-	 * @return Returns a random Event from events list.
+	 * @param unit The number of food units to buy.
 	 */
-	private Event newEvent() {
-		Random rand = new Random();
+	public void buyFood(int unit) {
+		getPlayer().buyFood(unit);
+		if (journal != null) {
+			journal.food(unit);
+		}
+	}
 
-		if (rand.nextInt(3) == 2) {
-			Optional<Event> e = this.getPendingEvent();
-			if (e.isPresent()) {
-				Event event = e.get();
-				pendingEvents.remove(event);
-				return event;
-			}
+	/**
+	 * Ends the turn of the current player. Goes to the next turn, and to the next
+	 * season once all the players have played. The turn is recorded in the
+	 * journal of the game if there is one.
+	 */
+	public void endTurn() {
+		nextTurn();
+		if (getCurrentPlayer() == 0) {
+			nextSeason();
 		}
+		if (journal != null) {
+			journal.endTurn(this);
+		}
+	}
 
-		// Checks if there is still events available for the current season
-		List<Event> list = getEvents(season);
-		if (list.isEmpty()) {
-			repopulateEventsWithUsed(season);
-			list = getEvents(season);
+	/**
+	 * Setter for the field journal.
+	 *
+	 * @param journal The journal recording the next turns, or null to stop
+	 *                recording them.
+	 */
+	public void setJournal(Journal journal) {
+		this.journal = journal;
+	}
+
+	/**
+	 * Returns the position of the random generator of the game, used to check
+	 * that a replayed game draws the same numbers as the original.
+	 *
+	 * @return Returns the position of the generator.
+	 */
+	public long getRandomPosition() {
+		return random.getPosition();
+	}
+
+	/**
+	 * Ends the turn of the current player like endTurn, but the next event is
+	 * chosen instead of being drawn. Used to explore all the possible draws.
+	 *
+	 * @param event -1 for the first pending event of the season, otherwise the
+	 *              index of the event among the drawable events (see
+	 *              getDrawableEvents).
+	 */
+	public void endTurn(int event) {
+		if (event == -1) {
+			currentEvent = pendingEvents.poll(season);
+			if (currentEvent == -1) {
+				throw new IllegalStateException("There is no pending event.");
+			}
+		} else {
+			currentEvent = events.draw(season, event);
+		}
+		turn++;
+		players.nextTurn();
+		if (getCurrentPlayer() == 0) {
+			nextSeason();
 		}
-		Event event = list.get(rand.nextInt(list.size()));
-		events.remove(event);
-		usedEvents.add(event);
-		return event;
 	}
 
 	/**
-	 * Repopulates events not used with used events for a specific season.
+	 * Returns the probability that the next event is the first pending event of
+	 * the season, rather than one of the drawable events.
 	 *
-	 * @param season The season you need to repopulate events.
+	 * @return Returns the probability, 0 if there is no pending event for the
+	 *         season.
 	 */
-	private void repopulateEventsWithUsed(Season season) {
-		List<Event> eventsForThisSeason = usedEvents.stream().filter(e -> e.getSeasons().contains(season))
-				.collect(Collectors.toList());
-		events.addAll(eventsForThisSeason);
-		usedEvents.removeAll(eventsForThisSeason);
+	public double getPendingEventChance() {
+		return pendingEvents.peek(season) == -1 ? 0 : scenario.getSettings().getPendingEventProbability();
 	}
 
 	/**
-	 * Returns an Optional Event if a pending event exists for the current season.
-	 * @return Returns an Optional Event
+	 * Returns the number of events the pool can draw for the next turn, all with
+	 * the same probability.
+	 *
+	 * @return Returns the number of drawable events.
+	 */
+	public int getDrawableEvents() {
+		return events.getDrawable(season);
+	}
+
+	/**
+	 * Updates the game and makes it ready for the next turn.
 	 */
-	private Optional<Event> getPendingEvent() {
-		return pendingEvents.stream().filter(e -> e.getSeasons().contains(season)).findAny();
+	public void nextTurn() {
+		currentEvent = newEvent();
+		turn++;
+
+		players.nextTurn();
 	}
 
 	/**
-	 * This method takes a season and return all the events than can occur during
-	 * it.
+	 * Selects a new event to be the currentEvent.
 	 *
-	 * @param season The season for which you need the events.
-	 * @return Returns a list of events that can occur during the season.
+	 * @return Returns the number of a random Event.
 	 */
-	private List<Event> getEvents(Season season) {
-		return events.stream().filter(e -> e.getSeasons().contains(season)).collect(Collectors.toList());
+	private int newEvent() {
+		if (random.nextDouble() < scenario.getSettings().getPendingEventProbability()) {
+			int event = pendingEvents.poll(season);
+			if (event != -1) {
+				return event;
+			}
+		}
+
+		// The pool re-uses the events of the season if they were all used
+		return events.draw(season, random);
 	}
 
 	/**
@@ -283,25 +558,6 @@ public class GameState implements Serializable {
 		return players.havePlayerDead();
 	}
 
-	/**
-	 * Loads Events from json file. Requires the list of all the factions and the
-	 * path to find the file.
-	 *
-	 * @param factions   The list containing all the factions of this scenario.
-	 * @param eventsPath The path where the json file is located.
-	 * @return Returns the list of all the events of this scenario.
-	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
-	 *                               wrong.
-	 */
-	private static List<Event> loadEvents(List<Faction> factions, String eventsPath) throws FileNotFoundException {
-		Type eventType = new TypeToken<List<Event>>() {
-		}.getType();
-
-		Gson gson = new GsonBuilder().registerTypeAdapter(eventType, new UtilsDeserialization(factions)).create();
-
-		return gson.fromJson(new JsonReader(new FileReader(eventsPath)), eventType);
-	}
-
 	@Override
 	public String toString() {
 		return "season=" + season;
@@ -1,9 +1,16 @@
 package tropico;
 
+import tropico.events.Effect;
 import tropico.events.FactionSatisfactionEffect;
 import tropico.events.OtherEffect;
 import tropico.events.OtherEffect.types;
+import tropico.utils.GameRandom;
+import tropico.utils.Sampling;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
+import tropico.utils.Utils;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.*;
 
@@ -12,9 +19,17 @@ import java.util.*;
  * <ul>
  * <li>The name of the player</li>
  * <li>The resources of the player</li>
- * <li>A list of the factions</li>
+ * <li>The satisfaction and the supporters of each faction</li>
  * </ul>
  * 
+ * The factions of the scenario are shared by all the players, each player only
+ * keeps the satisfaction and the supporters of his factions in arrays, indexed
+ * like the factions of the scenario.
+ * 
+ * The total of the supporters and the sum of the satisfaction of each faction
+ * multiplied by its supporters are kept up to date at each change of a faction,
+ * so the defeat of a player is checked without looping over the factions.
+ * 
  * @author Corentin OGER and Sébastien DOS SANTOS
  *
  */
@@ -36,33 +51,265 @@ public class Player implements Serializable {
 	private final Resources resources;
 
 	/**
-	 * The player's factions, with their satisfaction and supporters.
+	 * The factions of the scenario.
+	 */
+	private final FactionSet factions;
+
+	/**
+	 * The satisfaction of each faction.
+	 */
+	private final int[] satisfaction;
+
+	/**
+	 * The supporters of each faction.
+	 */
+	private final int[] supporters;
+
+	/**
+	 * The total number of supporters of all the factions.
 	 */
-	private final List<Faction> factions;
+	private int supporterTotal;
+
+	/**
+	 * The sum of the satisfaction of each faction multiplied by its supporters,
+	 * kept in a long since it can exceed an int with large populations.
+	 */
+	private long weightedSatisfaction;
+
+	/**
+	 * The random generator of the player, used at the end of the year.
+	 */
+	private final GameRandom random;
+
+	/**
+	 * The difficulty of the game, which scales the losses of resources and
+	 * defines the threshold of defeat.
+	 */
+	private final Difficulty difficulty;
 
 	/**
 	 * <b>Player's constructor</b>
 	 * 
 	 * Creates a player using a name, the list of the different factions of this
-	 * scenario and the base resources for this scenario.
+	 * scenario, the base resources for this scenario, a random generator and the
+	 * difficulty of the game.
 	 * 
-	 * @param name      A String which represents the name of the player.
-	 * @param factions  A list of the factions.
-	 * @param resources The base resources.
+	 * @param name       A String which represents the name of the player.
+	 * @param factions   The factions of the scenario, with their base values.
+	 * @param resources  The base resources.
+	 * @param random     The random generator of the player.
+	 * @param difficulty The difficulty of the game.
 	 */
-	public Player(String name, List<Faction> factions, Resources resources) {
+	public Player(String name, FactionSet factions, Resources resources, GameRandom random,
+			Difficulty difficulty) {
 		this.name = Objects.requireNonNull(name);
 		this.factions = Objects.requireNonNull(factions);
 		this.resources = Objects.requireNonNull(resources);
+		this.random = Objects.requireNonNull(random);
+		this.difficulty = Objects.requireNonNull(difficulty);
+
+		satisfaction = new int[factions.size()];
+		supporters = new int[factions.size()];
+		for (int i = 0; i < satisfaction.length; i++) {
+			satisfaction[i] = factions.get(i).getSatisfaction();
+			supporters[i] = factions.get(i).getSupporter();
+		}
+		computeTotals();
 	}
 
 	/**
-	 * Getter for the field factions.
+	 * <b>Player's second constructor</b>
+	 * 
+	 * Creates a copy of a player, sharing the factions of the scenario but not
+	 * their values.
+	 * 
+	 * @param player The player to copy.
+	 * @param random The random generator of the copy.
+	 */
+	private Player(Player player, GameRandom random) {
+		this.name = player.name;
+		this.factions = player.factions;
+		this.resources = player.resources.copy();
+		this.random = random;
+		this.difficulty = player.difficulty;
+		this.satisfaction = player.satisfaction.clone();
+		this.supporters = player.supporters.clone();
+		this.supporterTotal = player.supporterTotal;
+		this.weightedSatisfaction = player.weightedSatisfaction;
+	}
+
+	/**
+	 * <b>Player's third constructor</b>
+	 * 
+	 * Reads a player written by write. The difficulty is written with the game.
+	 * 
+	 * @param in         The reader of the save.
+	 * @param factions   The factions of the scenario.
+	 * @param difficulty The difficulty of the game.
+	 * @throws IOException Throws an IOException if the save is truncated or
+	 *                     doesn't match the factions.
+	 */
+	Player(SaveReader in, FactionSet factions, Difficulty difficulty) throws IOException {
+		this.name = in.readString();
+		this.factions = factions;
+		this.resources = Resources.read(in);
+		this.random = GameRandom.read(in);
+		this.difficulty = difficulty;
+
+		in.readInt(factions.size(), factions.size());
+		satisfaction = new int[factions.size()];
+		supporters = new int[factions.size()];
+		for (int i = 0; i < satisfaction.length; i++) {
+			satisfaction[i] = in.readInt(Faction.SATISFACTION_MIN, Faction.SATISFACTION_MAX);
+			supporters[i] = in.readInt(0, Integer.MAX_VALUE);
+		}
+		computeTotals();
+	}
+
+	/**
+	 * Computes the total of the supporters and the weighted satisfaction from the
+	 * values of the factions. Only called by the constructors, the totals are then
+	 * updated by setFaction.
+	 */
+	private void computeTotals() {
+		supporterTotal = 0;
+		weightedSatisfaction = 0;
+		for (int i = 0; i < satisfaction.length; i++) {
+			supporterTotal += supporters[i];
+			weightedSatisfaction += (long) satisfaction[i] * supporters[i];
+		}
+	}
+
+	/**
+	 * Changes the satisfaction and the supporters of a faction, and updates the
+	 * totals. Every change of a faction goes through this method.
+	 * 
+	 * @param faction         The index of the faction.
+	 * @param newSatisfaction The new satisfaction of the faction.
+	 * @param newSupporters   The new number of supporters of the faction.
+	 */
+	private void setFaction(int faction, int newSatisfaction, int newSupporters) {
+		supporterTotal += newSupporters - supporters[faction];
+		weightedSatisfaction += (long) newSatisfaction * newSupporters - (long) satisfaction[faction] * supporters[faction];
+		satisfaction[faction] = newSatisfaction;
+		supporters[faction] = newSupporters;
+	}
+
+	/**
+	 * Writes the player into a save. The factions themselves are part of the
+	 * scenario, only their values are written.
 	 * 
-	 * @return Returns a unmodifiable copy of the factions.
+	 * @param out The writer of the save.
+	 */
+	void write(SaveWriter out) {
+		out.writeString(name);
+		resources.write(out);
+		random.write(out);
+
+		out.writeInt(satisfaction.length);
+		for (int i = 0; i < satisfaction.length; i++) {
+			out.writeInt(satisfaction[i]);
+			out.writeInt(supporters[i]);
+		}
+	}
+
+	/**
+	 * Creates a copy of this player, with a copy of its random generator.
+	 * 
+	 * @return Returns the copy.
+	 */
+	public Player copy() {
+		return new Player(this, random.copy());
+	}
+
+	/**
+	 * Creates a copy of this player, with another random generator.
+	 * 
+	 * @param random The random generator of the copy.
+	 * @return Returns the copy.
+	 */
+	public Player copy(GameRandom random) {
+		return new Player(this, Objects.requireNonNull(random));
+	}
+
+	/**
+	 * Returns the position of the random generator of the player, used to check
+	 * that a replayed game draws the same numbers as the original.
+	 * 
+	 * @return Returns the position of the generator.
+	 */
+	public long getRandomPosition() {
+		return random.getPosition();
+	}
+
+	/**
+	 * Getter for the field difficulty.
+	 * 
+	 * @return Returns the difficulty of the game of the player.
+	 */
+	public Difficulty getDifficulty() {
+		return difficulty;
+	}
+
+	/**
+	 * This method returns the factions with their current values.
+	 * 
+	 * @return Returns an unmodifiable list of copies of the factions.
 	 */
 	public List<Faction> getFactions() {
-		return List.copyOf(factions);
+		List<Faction> list = new ArrayList<>(satisfaction.length);
+		for (int i = 0; i < satisfaction.length; i++) {
+			list.add(getFaction(i));
+		}
+		return Collections.unmodifiableList(list);
+	}
+
+	/**
+	 * This method returns a faction with its current values.
+	 * 
+	 * @param faction The index of the faction.
+	 * @return Returns a copy of the faction.
+	 */
+	public Faction getFaction(int faction) {
+		return new Faction(factions.getName(faction), satisfaction[faction], supporters[faction]);
+	}
+
+	/**
+	 * This method returns the number of factions.
+	 * 
+	 * @return Returns the number of factions.
+	 */
+	public int getFactionCount() {
+		return satisfaction.length;
+	}
+
+	/**
+	 * Getter for the field factions.
+	 * 
+	 * @return Returns the factions of the scenario.
+	 */
+	public FactionSet getFactionSet() {
+		return factions;
+	}
+
+	/**
+	 * This method returns the satisfaction of a faction.
+	 * 
+	 * @param faction The index of the faction.
+	 * @return Returns the satisfaction, between 0 and 100.
+	 */
+	public int getSatisfaction(int faction) {
+		return satisfaction[faction];
+	}
+
+	/**
+	 * This method returns the supporters of a faction.
+	 * 
+	 * @param faction The index of the faction.
+	 * @return Returns the number of supporters.
+	 */
+	public int getSupporter(int faction) {
+		return supporters[faction];
 	}
 
 	/**
@@ -111,22 +358,25 @@ public class Player implements Serializable {
 	}
 
 	/**
-	 * Searches a faction from a string representing its name. If it doesn't exist,
-	 * an IllegalArgumentException is thrown.
+	 * Calls the method getFoodShortage from resources with the total number of
+	 * supporters.
 	 * 
-	 * @param factionName A String which should the name of one of the factions.
-	 * @return Returns a faction which name is factionName.
+	 * @return Returns the number of food units missing to feed all the supporters
+	 *         at the end of the year.
 	 */
-	public Faction getFactionFromName(String factionName) {
-		String name = Objects.requireNonNull(factionName);
-
-		for (Faction faction : factions) {
-			if (faction.isName(name)) {
-				return faction;
-			}
-		}
+	public int getFoodShortage() {
+		return resources.getFoodShortage(getSupporterTotal());
+	}
 
-		throw new IllegalArgumentException('"' + name + "\" is not a faction's name.");
+	/**
+	 * Searches the index of a faction from a string representing its name. If it
+	 * doesn't exist, an IllegalArgumentException is thrown.
+	 * 
+	 * @param factionName A String which should the name of one of the factions.
+	 * @return Returns the index of the faction which name is factionName.
+	 */
+	public int getFactionIndex(String factionName) {
+		return factions.indexOf(factionName);
 	}
 
 	/**
@@ -146,7 +396,7 @@ public class Player implements Serializable {
 	 * @return Returns an int representing the the total number of supporters.
 	 */
 	public int getSupporterTotal() {
-		return factions.stream().mapToInt(Faction::getSupporter).sum();
+		return supporterTotal;
 	}
 
 	/**
@@ -157,10 +407,10 @@ public class Player implements Serializable {
 	 * @return Returns the cost to bribe the faction f.
 	 */
 	public int getBribeCost(Faction f) {
-		if (!factions.contains(f)) {
+		if (!factions.contains(f.getName())) {
 			throw new IllegalArgumentException("The faction doesn't exists.");
 		}
-		return f.getBribeCost();
+		return getFaction(factions.indexOf(f.getName())).getBribeCost();
 	}
 
 	/**
@@ -171,14 +421,90 @@ public class Player implements Serializable {
 	 */
 	public List<Faction> getSatisfiedFactions() {
 		ArrayList<Faction> fList = new ArrayList<Faction>();
-		for (Faction faction : factions) {
-			if (!faction.hasZeroSatisfaction()) {
-				fList.add(faction);
+		for (int i = 0; i < satisfaction.length; i++) {
+			if (satisfaction[i] != 0) {
+				fList.add(getFaction(i));
 			}
 		}
 		return List.copyOf(fList);
 	}
 
+	/**
+	 * Adds the int value to the satisfaction of a faction, but limits it. Only
+	 * works if the satisfaction isn't equal to 0, in which case it will never be
+	 * able to change again.
+	 * 
+	 * @param faction The index of the faction.
+	 * @param value   The int that will be added to the satisfaction.
+	 */
+	public void addSatisfaction(int faction, int value) {
+		if (satisfaction[faction] != 0) {
+			setFaction(faction, Utils.limit(satisfaction[faction] + value, Faction.SATISFACTION_MIN,
+					Faction.SATISFACTION_MAX), supporters[faction]);
+		}
+	}
+
+	/**
+	 * Adds the values to the satisfaction of the factions.
+	 * 
+	 * @param values The values to add, indexed like the factions.
+	 */
+	public void addSatisfactions(int[] values) {
+		for (int i = 0; i < satisfaction.length; i++) {
+			if (satisfaction[i] != 0) {
+				setFaction(i, Utils.limit(satisfaction[i] + values[i], Faction.SATISFACTION_MIN,
+						Faction.SATISFACTION_MAX), supporters[i]);
+			}
+		}
+	}
+
+	/**
+	 * Adds the values to the supporters of the factions. A value is a percentage
+	 * of the supporters if the percentage array says so.
+	 * 
+	 * @param values     The values to add, indexed like the factions.
+	 * @param percentage True for the values which are percentages.
+	 */
+	public void addSupporters(int[] values, boolean[] percentage) {
+		for (int i = 0; i < supporters.length; i++) {
+			int count = percentage[i] ? supporters[i] * values[i] / 100 : values[i];
+			setFaction(i, satisfaction[i], Math.max(supporters[i] + count, 0));
+		}
+	}
+
+	/**
+	 * Adds the int value to the satisfaction of all the factions.
+	 * 
+	 * @param value The int that will be added to the satisfactions.
+	 */
+	public void addSatisfactionToAll(int value) {
+		for (int i = 0; i < satisfaction.length; i++) {
+			addSatisfaction(i, value);
+		}
+	}
+
+	/**
+	 * Adds the int count to the supporters of a faction. Sets it to 0 if
+	 * supporter + count is inferior to it.
+	 * 
+	 * @param faction The index of the faction.
+	 * @param count   The int that will be added to the supporters.
+	 */
+	public void addSupporter(int faction, int count) {
+		setFaction(faction, satisfaction[faction], Math.max(supporters[faction] + count, 0));
+	}
+
+	/**
+	 * Changes the supporters of a faction according to a percentage. Sets it to 0
+	 * if supporter + count is inferior to it.
+	 * 
+	 * @param faction    The index of the faction.
+	 * @param percentage The percentage which will be added to the supporters.
+	 */
+	public void addSupporterPercentage(int faction, int percentage) {
+		addSupporter(faction, supporters[faction] * percentage / 100);
+	}
+
 	/**
 	 * This method calls the method addIndustry from resources.
 	 *
@@ -221,37 +547,37 @@ public class Player implements Serializable {
 	 * This method allows you to know if the player is dead. The player is dead if
 	 * he has no supporter if he has no supporters left or if the average
 	 * satisfaction of the supporters is smaller than the threshold defined by the
-	 * difficulty.
+	 * difficulty. Uses the totals kept up to date, so it doesn't depend on the
+	 * number of factions.
 	 * 
 	 * @return Returns true if the player is dead, false otherwise.
 	 */
 	public boolean isDead() {
-		int thresholdOfDefeat;
-
-		// Different according to the difficulty
-		switch (DifficultySingleton.getDifficulty()) {
-		case EASY:
-			thresholdOfDefeat = 10;
-			break;
-		case MEDIUM:
-			thresholdOfDefeat = 30;
-			break;
-		case HARD:
-			thresholdOfDefeat = 50;
-			break;
-		default:
-			throw new IllegalStateException("The difficulty doesn't exists.");
-		}
+		return getSupporterTotal() == 0 || getAverageSatisfaction() < difficulty.getDefeatThreshold();
+	}
 
-		int sum = 0;
-		int totalSupporter = 0;
+	/**
+	 * This method returns the average satisfaction of the player's supporters,
+	 * each faction weighing its number of supporters.
+	 * 
+	 * @return Returns the average satisfaction, 0 if the player has no supporter.
+	 */
+	public double getAverageSatisfaction() {
+		return supporterTotal == 0 ? 0 : (double) weightedSatisfaction / supporterTotal;
+	}
 
-		// Calculates the average satisfaction of a supporter
-		for (Faction faction : factions) {
-			sum += faction.getSatisfaction() * faction.getSupporter();
-			totalSupporter += faction.getSupporter();
-		}
-		return totalSupporter == 0 || (double) sum / totalSupporter < thresholdOfDefeat;
+	/**
+	 * This method returns the effects of a bribe for the faction f, which are 10
+	 * percent satisfaction for it, and a loss of satisfaction for the loyalists
+	 * depending on the cost.
+	 * 
+	 * @param f The faction you want to bribe.
+	 * @return Returns the list of the effects applied by the bribe.
+	 */
+	public List<Effect> getBribeEffects(Faction f) {
+		int bribeCost = getBribeCost(f);
+		return List.of(new FactionSatisfactionEffect(f.getName(), 10),
+				new FactionSatisfactionEffect("loyalistes", -bribeCost / 10));
 	}
 
 	/**
@@ -264,30 +590,32 @@ public class Player implements Serializable {
 	 * @return Returns true if bribery was possible, false otherwise.
 	 */
 	public boolean bribe(Faction f) {
-		if (!factions.contains(f)) {
-			throw new IllegalArgumentException("The faction doesn't exists.");
-		}
-		int bribeCost = f.getBribeCost();
+		int bribeCost = getBribeCost(f);
 
 		if (bribeCost > resources.getTreasury()) {
 			return false;
 		}
 
-		// Creating and applying effects in order to make the bribe and print the
-		// result.
-		FactionSatisfactionEffect effect1 = new FactionSatisfactionEffect(f.getName(), 10);
-		System.out.println(effect1);
-		effect1.applyEffect(this);
-
-		FactionSatisfactionEffect effect2 = new FactionSatisfactionEffect("loyalistes", -bribeCost / 10);
-		System.out.println(effect2);
-		effect2.applyEffect(this);
+		// Applying effects in order to make the bribe.
+		for (Effect effect : getBribeEffects(f)) {
+			effect.applyEffect(this);
+		}
 
 		resources.addMoney(-bribeCost);
 
 		return true;
 	}
 
+	/**
+	 * This method returns the effects of buying an int unit of food.
+	 * 
+	 * @param unit The number of food units the player wants to buy.
+	 * @return Returns the list of the effects applied by the purchase.
+	 */
+	public List<Effect> getFoodEffects(int unit) {
+		return List.of(new OtherEffect(types.FOODUNIT, unit), new OtherEffect(types.TREASURY, -unit * 8));
+	}
+
 	/**
 	 * This method is used to buy an int unit of food. Throws
 	 * IllegalArgumentException if this action wasn't possible.
@@ -303,20 +631,15 @@ public class Player implements Serializable {
 			throw new IllegalArgumentException("Le nombre d'unité doit être supérieur à 0.");
 		}
 
-		// Creating and applying effects to apply the bribe and print the result.
-		OtherEffect effect1 = new OtherEffect(types.FOODUNIT, unit);
-		System.out.println(effect1);
-		effect1.applyEffect(this);
-
-		OtherEffect effect2 = new OtherEffect(types.TREASURY, -cost);
-		System.out.println(effect2);
-		effect2.applyEffect(this);
-
+		// Applying effects to buy the food.
+		for (Effect effect : getFoodEffects(unit)) {
+			effect.applyEffect(this);
+		}
 	}
 
 	@Override
 	public String toString() {
-		return "Player{" + "resources=" + resources + ", factions=" + factions + '}';
+		return "Player{" + "resources=" + resources + ", factions=" + getFactions() + '}';
 	}
 
 	/**
@@ -358,6 +681,10 @@ public class Player implements Serializable {
 	 * overflow value. The pop value could be calculated within the method. Lowers
 	 * the general satisfaction when a supporter dies.
 	 * 
+	 * The dead supporters of all the factions are drawn at once, with the same
+	 * probabilities as if they were drawn one by one, and the satisfaction is
+	 * lowered once for all of them.
+	 * 
 	 * This method is private is only called once in generateResources.
 	 * 
 	 * @param overflow An int representing the number of supporters who couldn't be
@@ -365,26 +692,17 @@ public class Player implements Serializable {
 	 * @param pop      The total number of supporters.
 	 */
 	private void killSupporters(int overflow, int pop) {
-		Random rd = new Random();
-		float count, rdfloat;
-
-		// For each supporters who couldn't be fed
-		for (int i = 0; i < overflow; i++) {
-			rdfloat = rd.nextFloat();
-			count = 0;
-
-			// Each time, randomly chooses the faction where a supporter dies. A faction has
-			// a greater chance to lose a supporter if its count is higher than the others.
-			for (Faction faction : factions) {
-				count += faction.getSupporter() * 1.0 / pop;
-				if (rdfloat <= count) {
-					faction.killSupporter();
-					pop--;
-					factions.forEach(f -> f.addSatisfaction(-2));
-					break;
-				}
-			}
+		// A faction has a greater chance to lose a supporter if its count is higher
+		// than the others.
+		int[] deaths = Sampling.multivariateHypergeometric(random, supporters, pop, overflow);
+		for (int i = 0; i < deaths.length; i++) {
+			setFaction(i, satisfaction[i], supporters[i] - deaths[i]);
 		}
+
+		// Each death lowers the satisfaction of all the factions by 2. The deaths
+		// are capped, so the loss can't overflow : past SATISFACTION_MAX deaths, the
+		// satisfaction reaches its minimum anyway.
+		addSatisfactionToAll(-2 * Math.min(overflow, Faction.SATISFACTION_MAX));
 	}
 
 	/**
@@ -392,34 +710,20 @@ public class Player implements Serializable {
 	 * and chooses a faction for each of them. Only called once in
 	 * generateResources.
 	 * 
+	 * The odds of the factions are calculated once for the year, and the new
+	 * supporters of all the factions are drawn at once.
+	 * 
 	 * @param pop The number of total supporters.
 	 * @return Returns the number of supporters generated.
 	 */
 	private int generateNewSupporters(int pop) {
-		Random rd = new Random();
-
 		// The number of supporters to generate
-		int addedPop = (int) (pop * (rd.nextFloat() * 9 + 1) / 100);
-		double rdfloat;
-		double count;
-
-		// For each of them
-		for (int i = 0; i < addedPop; i++) {
-			rdfloat = rd.nextDouble();
-			count = 0;
-
-			// Calculates each factions' odds to get the new supporter
-			HashMap<Faction, Double> factionChances = calculateFactionsChances(pop);
-
-			// Randomly chooses one of the faction and adds the supporter
-			for (Faction faction : factions) {
-				count += factionChances.get(faction);
-
-				if (rdfloat <= count) {
-					faction.addSupporter(1);
-					break;
-				}
-			}
+		int addedPop = (int) (pop * (random.nextFloat() * 9 + 1) / 100);
+
+		// Randomly chooses the faction of each new supporter
+		int[] added = Sampling.multinomial(random, addedPop, calculateFactionsChances(pop));
+		for (int i = 0; i < added.length; i++) {
+			setFaction(i, satisfaction[i], supporters[i] + added[i]);
 		}
 
 		return addedPop;
@@ -429,33 +733,24 @@ public class Player implements Serializable {
 	 * This method is only used once in generateNewSupporters and only serves to
 	 * calculate the odds of each factions to get a new supporter. Uses the total
 	 * number of supporters, each factions' count of supporter and their
-	 * satisfaction. Returns an hashmap with the faction associated with its odds.
+	 * satisfaction.
 	 * 
 	 * @param pop The total number of supporters.
-	 * @return Returns an HashMap containing the Factions as keys, and their chances
-	 *         to get a new supporter as values.
+	 * @return Returns an array containing the odds of each faction to get a new
+	 *         supporter, in the order of the factions. The odds are not
+	 *         normalized.
 	 */
-	private HashMap<Faction, Double> calculateFactionsChances(int pop) {
-		HashMap<Faction, Double> chances = new HashMap<Faction, Double>();
+	private double[] calculateFactionsChances(int pop) {
+		double[] chances = new double[satisfaction.length];
 		float factor;
 
-		for (Faction faction : factions) {
+		for (int i = 0; i < chances.length; i++) {
 			// A factor calculated by getting the satisfaction between 0.1 and 1 or 0.2 if
 			// the factor is too low
-			factor = (float) Math.max(faction.getSatisfaction() * 0.9 / 100 + 0.1, 0.2);
-			// First association : faction with its percentage of supporters multiplied by
-			// the previous factor
-			chances.put(faction, faction.getSupporter() * 1.0 / pop * factor);
-		}
-
-		double total = 0.0;
-		for (double f : chances.values()) {
-			total += f;
-		}
-
-		for (Faction faction : factions) {
-			// Second association : faction with its odd between 0 and 1
-			chances.replace(faction, chances.get(faction) / total);
+			factor = (float) Math.max(satisfaction[i] * 0.9 / 100 + 0.1, 0.2);
+			// The percentage of supporters of the faction multiplied by the previous
+			// factor
+			chances[i] = supporters[i] * 1.0 / pop * factor;
 		}
 
 		return chances;
@@ -1,11 +1,14 @@
 package tropico;
 
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
 
-import tropico.utils.UtilsDeserialization;
+import tropico.utils.GameRandom;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
 
 /**
  * This class serves as a way to manage the players, using :
@@ -38,26 +41,26 @@ public class PlayerManagement implements Serializable {
 	/**
 	 * <b>PlayerManagement's first constructor</b>
 	 * 
-	 * Creates the players' list and the base factions and resources using
-	 * UtilsDeserialization class.
+	 * Creates the players' list with the base factions and resources of the
+	 * scenario.
 	 * 
-	 * @param path  A String containing the path to the json files of the factions
-	 *              and the resources.
-	 * @param count An int representing the number of players in this game.
-	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
-	 *                               wrong.
+	 * @param scenario   The scenario of the game.
+	 * @param count      An int representing the number of players in this game.
+	 * @param random     The random generator of the game, split to create the one
+	 *                   of each player.
+	 * @param difficulty The difficulty of the game.
 	 */
-	public PlayerManagement(String path, int count) throws FileNotFoundException {
+	public PlayerManagement(Scenario scenario, int count, GameRandom random, Difficulty difficulty) {
 		if (count <= 0)
 			throw new IllegalStateException("Must have players");
 
-		// Deserializes the factions and resources, which is the same for all players at
-		// the start
-		List<Faction> factions = UtilsDeserialization.loadFactions(path + "factions.json");
-		Resources resources = UtilsDeserialization.loadResources(path + "resources.json");
+		// The factions are the same for all players at the start. The factions never
+		// change, each player keeps his own values.
+		FactionSet factions = scenario.getFactions();
 
 		for (int i = 0; i < count; i++) {
-			players.add(new Player("Player " + (i + 1), List.copyOf(factions), resources.copy()));
+			players.add(new Player("Player " + (i + 1), factions, scenario.getResources(), random.split(),
+					difficulty));
 		}
 	}
 
@@ -65,15 +68,73 @@ public class PlayerManagement implements Serializable {
 	 * <b>PlayerManagement's second constructor</b>
 	 * 
 	 * Use this constructor if you want to create a solo game, but choose the
-	 * gamemode.
+	 * gamemode and the difficulty.
 	 * 
-	 * @param path A String containing the path to the json files of the factions
-	 *             and the resources.
-	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
-	 *                               wrong.
+	 * @param scenario   The scenario of the game.
+	 * @param difficulty The difficulty of the game.
 	 */
-	public PlayerManagement(String path) throws FileNotFoundException {
-		this(path, 1);
+	public PlayerManagement(Scenario scenario, Difficulty difficulty) {
+		this(scenario, 1, new GameRandom(ThreadLocalRandom.current().nextLong()), difficulty);
+	}
+
+	/**
+	 * <b>PlayerManagement's third constructor</b>
+	 * 
+	 * Creates a copy of the players of another PlayerManagement.
+	 * 
+	 * @param players The PlayerManagement to copy.
+	 * @param random  The random generator split to create the one of each player,
+	 *                or null to copy the players' generators.
+	 */
+	private PlayerManagement(PlayerManagement players, GameRandom random) {
+		for (Player player : players.players) {
+			this.players.add(random == null ? player.copy() : player.copy(random.split()));
+		}
+		currentPlayer = players.currentPlayer;
+	}
+
+	/**
+	 * <b>PlayerManagement's fourth constructor</b>
+	 * 
+	 * Reads the players written by write.
+	 * 
+	 * @param scenario   The scenario of the game.
+	 * @param in         The reader of the save.
+	 * @param difficulty The difficulty of the game.
+	 * @throws IOException Throws an IOException if the save is truncated or
+	 *                     doesn't match the scenario.
+	 */
+	PlayerManagement(Scenario scenario, SaveReader in, Difficulty difficulty) throws IOException {
+		FactionSet factions = scenario.getFactions();
+		int count = in.readInt(1, Integer.MAX_VALUE);
+		for (int i = 0; i < count; i++) {
+			players.add(new Player(in, factions, difficulty));
+		}
+		currentPlayer = in.readInt(0, count - 1);
+	}
+
+	/**
+	 * Writes the players into a save.
+	 * 
+	 * @param out The writer of the save.
+	 */
+	void write(SaveWriter out) {
+		out.writeInt(players.size());
+		for (Player player : players) {
+			player.write(out);
+		}
+		out.writeInt(currentPlayer);
+	}
+
+	/**
+	 * Creates a copy of the players.
+	 * 
+	 * @param random The random generator split to create the one of each player,
+	 *               or null to copy the players' generators.
+	 * @return Returns the copy.
+	 */
+	PlayerManagement copy(GameRandom random) {
+		return new PlayerManagement(this, random);
 	}
 
 	/**
@@ -85,6 +146,15 @@ public class PlayerManagement implements Serializable {
 		return players.get(currentPlayer);
 	}
 
+	/**
+	 * Getter for the field players.
+	 * 
+	 * @return Returns an unmodifiable copy of the list of players.
+	 */
+	public List<Player> getPlayers() {
+		return List.copyOf(players);
+	}
+
 	/**
 	 * Getter for the field currentPlayer.
 	 * 
@@ -1,5 +1,9 @@
 package tropico;
 
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
+
+import java.io.IOException;
 import java.io.Serializable;
 
 /**
@@ -90,6 +94,22 @@ public class Resources implements Serializable {
 		this.foodUnit = foodUnit;
 	}
 
+	/**
+	 * <b>Resources's second constructor</b>
+	 * 
+	 * Creates a copy of a Resource object. The values aren't checked again, since
+	 * the game can make them go out of the bounds of the first constructor (no
+	 * food left for instance).
+	 * 
+	 * @param resources The resources to copy.
+	 */
+	private Resources(Resources resources) {
+		this.industry = resources.industry;
+		this.farming = resources.farming;
+		this.treasury = resources.treasury;
+		this.foodUnit = resources.foodUnit;
+	}
+
 	/**
 	 * Getter for the field industry.
 	 * 
@@ -133,7 +153,37 @@ public class Resources implements Serializable {
 	 * @return A copy of the resources.
 	 */
 	public Resources copy() {
-		return new Resources(industry, farming, treasury, foodUnit);
+		return new Resources(this);
+	}
+
+	/**
+	 * Writes the resources into a save.
+	 * 
+	 * @param out The writer of the save.
+	 */
+	public void write(SaveWriter out) {
+		out.writeInt(industry);
+		out.writeInt(farming);
+		out.writeInt(treasury);
+		out.writeInt(foodUnit);
+	}
+
+	/**
+	 * Reads resources written by write. The values aren't checked, like the ones
+	 * of a copy.
+	 * 
+	 * @param in The reader of the save.
+	 * @return Returns the resources.
+	 * @throws IOException Throws an IOException if the save is truncated or
+	 *                     corrupted.
+	 */
+	public static Resources read(SaveReader in) throws IOException {
+		Resources resources = new Resources(0, 0, 0, 0);
+		resources.industry = in.readInt();
+		resources.farming = in.readInt();
+		resources.treasury = in.readInt();
+		resources.foodUnit = in.readInt();
+		return resources;
 	}
 
 	/**
@@ -259,4 +309,15 @@ public class Resources implements Serializable {
 	public boolean hasEnoughFarming(int pop) {
 		return pop * FOOD_UNIT_PER_CITIZEN < farming * 40;
 	}
+
+	/**
+	 * Calculates the number of food units missing to feed pop persons at the end
+	 * of the year, once the food of the year is generated.
+	 * 
+	 * @param pop The total number of supporters.
+	 * @return Returns the number of missing food units, 0 if there is enough food.
+	 */
+	public int getFoodShortage(int pop) {
+		return Math.max(pop * FOOD_UNIT_PER_CITIZEN - foodUnit - farming * 40, 0);
+	}
 }
@@ -0,0 +1,372 @@
+package tropico;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.stream.JsonReader;
+
+import tropico.events.Choice;
+import tropico.events.Event;
+import tropico.events.EventIndex;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
+import tropico.utils.UtilsDeserialization;
+
+import java.io.BufferedReader;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class holds everything a scenario defines, and which never changes
+ * during a game :
+ * <ul>
+ * <li>The name of the scenario, which is also the name of its directory</li>
+ * <li>The factions, with their starting values</li>
+ * <li>The starting resources</li>
+ * <li>The settings</li>
+ * <li>The events and their choices, numbered by an EventIndex</li>
+ * </ul>
+ * 
+ * A scenario is immutable, so it can be shared by all the games played with
+ * it. The state of a game only refers to the events and the choices by their
+ * numbers.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public final class Scenario implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Static String containing the path to the scenarios' directories. Can be
+	 * changed with the system property tropico.scenarios.
+	 */
+	private static final String SCENARIO_PATH = System.getProperty("tropico.scenarios",
+			"src/main/resources/scenarios");
+
+	/**
+	 * The name of the scenario.
+	 */
+	private final String name;
+
+	/**
+	 * The factions of the scenario, with their starting values.
+	 */
+	private final FactionSet factions;
+
+	/**
+	 * The starting resources of each player, copied for each of them.
+	 */
+	private final Resources resources;
+
+	/**
+	 * The settings of the scenario.
+	 */
+	private final ScenarioSettings settings;
+
+	/**
+	 * The numbers of all the events and choices.
+	 */
+	private final EventIndex index;
+
+	/**
+	 * The numbers of the events which can be drawn, the ones which aren't only
+	 * reached through a choice, in increasing order.
+	 */
+	private final int[] roots;
+
+	/**
+	 * The seasons of each event, as a bit mask of the ordinals of the seasons.
+	 */
+	private final byte[] seasons;
+
+	/**
+	 * <b>Scenario's constructor</b>
+	 * 
+	 * Creates a scenario and numbers its events.
+	 * 
+	 * @param name      The name of the scenario.
+	 * @param factions  The factions, with their starting values.
+	 * @param resources The starting resources.
+	 * @param settings  The settings.
+	 * @param events    The events which can be drawn. Their choices may lead to
+	 *                  other events.
+	 */
+	public Scenario(String name, FactionSet factions, Resources resources, ScenarioSettings settings,
+			List<Event> events) {
+		this.name = Objects.requireNonNull(name);
+		this.factions = Objects.requireNonNull(factions);
+		this.resources = resources.copy();
+		this.settings = Objects.requireNonNull(settings);
+		this.index = new EventIndex(events);
+
+		roots = new int[events.size()];
+		for (int i = 0; i < roots.length; i++) {
+			roots[i] = events.get(i).getId();
+		}
+
+		seasons = new byte[index.getEventCount()];
+		for (int i = 0; i < seasons.length; i++) {
+			for (Season season : index.getEvent(i).getSeasons()) {
+				seasons[i] |= 1 << season.ordinal();
+			}
+		}
+	}
+
+	/**
+	 * Loads a scenario. The scenario is read from the ScenarioCache if it was
+	 * already compiled, from the json files of its directory otherwise.
+	 * 
+	 * @param name The name of the scenario.
+	 * @return Returns the scenario.
+	 * @throws FileNotFoundException Throws a FileNotFoundException if a file is
+	 *                               missing.
+	 */
+	public static Scenario load(String name) throws FileNotFoundException {
+		return ScenarioCache.isEnabled() ? ScenarioCache.load(name) : loadJson(name);
+	}
+
+	/**
+	 * Loads a scenario from the json files of its directory.
+	 * 
+	 * @param name The name of the scenario.
+	 * @return Returns the scenario.
+	 * @throws FileNotFoundException Throws a FileNotFoundException if a file is
+	 *                               missing.
+	 */
+	static Scenario loadJson(String name) throws FileNotFoundException {
+		String path = getDirectory(name) + "/";
+		FactionSet factions = new FactionSet(UtilsDeserialization.loadFactions(path + "factions.json"));
+		Resources resources = UtilsDeserialization.loadResources(path + "resources.json");
+		ScenarioSettings settings = UtilsDeserialization.loadSettings(path + "settings.json");
+		return new Scenario(name, factions, resources, settings, loadEvents(factions, path + "events.json"));
+	}
+
+	/**
+	 * Returns the directory of a scenario.
+	 * 
+	 * @param name The name of the scenario.
+	 * @return Returns the path of the directory of the json files.
+	 */
+	static String getDirectory(String name) {
+		return SCENARIO_PATH + "/" + name;
+	}
+
+	/**
+	 * Writes the scenario into a compiled scenario : the factions, the resources,
+	 * the settings and the events which can be drawn, with the choices and the
+	 * events they lead to.
+	 * 
+	 * @param out The writer of the compiled scenario.
+	 */
+	void write(SaveWriter out) {
+		out.writeString(name);
+		out.writeInt(factions.size());
+		for (Faction faction : factions.getFactions()) {
+			out.writeString(faction.getName());
+			out.writeInt(faction.getSatisfaction());
+			out.writeInt(faction.getSupporter());
+		}
+		resources.write(out);
+		out.writeLong(Double.doubleToLongBits(settings.getPendingEventProbability()));
+		out.writeInt(roots.length);
+		for (int root : roots) {
+			index.getEvent(root).write(out);
+		}
+	}
+
+	/**
+	 * Reads a scenario written by write. The events are numbered in the same
+	 * order as when the scenario was written.
+	 * 
+	 * @param in The reader of the compiled scenario.
+	 * @return Returns the scenario.
+	 * @throws IOException Throws an IOException if the compiled scenario is
+	 *                     truncated or corrupted.
+	 */
+	static Scenario read(SaveReader in) throws IOException {
+		String name = in.readString();
+		int count = in.readInt(0, in.remaining());
+		List<Faction> factions = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			factions.add(new Faction(in.readString(), in.readInt(), in.readInt()));
+		}
+		FactionSet factionSet = new FactionSet(factions);
+		Resources resources = Resources.read(in);
+		ScenarioSettings settings = new ScenarioSettings(Double.longBitsToDouble(in.readLong()));
+
+		count = in.readInt(0, in.remaining());
+		List<Event> events = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			events.add(Event.read(in, factionSet));
+		}
+		return new Scenario(name, factionSet, resources, settings, events);
+	}
+
+	/**
+	 * Loads Events from json file. Requires the list of all the factions and the
+	 * path to find the file. The file is read as a stream, see
+	 * UtilsDeserialization.
+	 *
+	 * @param factions   The set containing all the factions of this scenario.
+	 * @param eventsPath The path where the json file is located.
+	 * @return Returns the list of all the events of this scenario.
+	 * @throws FileNotFoundException Throws a FileNotFoundException if the path is
+	 *                               wrong.
+	 */
+	private static List<Event> loadEvents(FactionSet factions, String eventsPath) throws FileNotFoundException {
+		try (JsonReader reader = new JsonReader(new BufferedReader(new FileReader(eventsPath)))) {
+			// Same parsing and errors as through Gson.fromJson
+			reader.setLenient(true);
+			try {
+				return new UtilsDeserialization(factions).read(reader);
+			} catch (IllegalStateException | IOException e) {
+				throw new JsonSyntaxException(e);
+			}
+		} catch (FileNotFoundException e) {
+			throw e;
+		} catch (IOException e) {
+			throw new JsonIOException(e);
+		}
+	}
+
+	/**
+	 * Getter for the field name.
+	 * 
+	 * @return Returns the name of the scenario.
+	 */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Getter for the field factions.
+	 * 
+	 * @return Returns the factions of the scenario.
+	 */
+	public FactionSet getFactions() {
+		return factions;
+	}
+
+	/**
+	 * Returns the starting resources of a player.
+	 * 
+	 * @return Returns a copy of the starting resources.
+	 */
+	public Resources getResources() {
+		return resources.copy();
+	}
+
+	/**
+	 * Getter for the field settings.
+	 * 
+	 * @return Returns the settings of the scenario.
+	 */
+	public ScenarioSettings getSettings() {
+		return settings;
+	}
+
+	/**
+	 * Returns an event from its number.
+	 * 
+	 * @param id The number of the event.
+	 * @return Returns the event.
+	 */
+	public Event getEvent(int id) {
+		return index.getEvent(id);
+	}
+
+	/**
+	 * Returns the number of events.
+	 * 
+	 * @return Returns the number of events, including the ones the choices lead
+	 *         to.
+	 */
+	public int getEventCount() {
+		return index.getEventCount();
+	}
+
+	/**
+	 * Returns a choice from its number.
+	 * 
+	 * @param id The number of the choice.
+	 * @return Returns the choice.
+	 */
+	public Choice getChoice(int id) {
+		return index.getChoice(id);
+	}
+
+	/**
+	 * Returns the number of choices.
+	 * 
+	 * @return Returns the number of choices of all the events.
+	 */
+	public int getChoiceCount() {
+		return index.getChoiceCount();
+	}
+
+	/**
+	 * Returns the number of events which can be drawn.
+	 * 
+	 * @return Returns the number of events which aren't only reached through a
+	 *         choice.
+	 */
+	public int getRootCount() {
+		return roots.length;
+	}
+
+	/**
+	 * Returns the number of an event which can be drawn.
+	 * 
+	 * @param i The index of the event among the events which can be drawn.
+	 * @return Returns the number of the event.
+	 */
+	public int getRoot(int i) {
+		return roots[i];
+	}
+
+	/**
+	 * Checks if an event can be drawn.
+	 * 
+	 * @param id The number of the event.
+	 * @return Returns true if the event isn't only reached through a choice.
+	 */
+	public boolean isRoot(int id) {
+		return Arrays.binarySearch(roots, id) >= 0;
+	}
+
+	/**
+	 * Checks if an event can occur during a season.
+	 * 
+	 * @param id The number of the event.
+	 * @param s  The ordinal of the season.
+	 * @return Returns true if the event can occur during the season.
+	 */
+	public boolean hasSeason(int id, int s) {
+		return (seasons[id] & (1 << s)) != 0;
+	}
+
+	/**
+	 * Computes a checksum of the events and the choices, used to check that a save
+	 * was made with the same scenario.
+	 * 
+	 * @return Returns the checksum.
+	 */
+	public long checksum() {
+		return index.checksum();
+	}
+
+	@Override
+	public String toString() {
+		return "Scenario{" + "name=" + name + ", events=" + getEventCount() + '}';
+	}
+}
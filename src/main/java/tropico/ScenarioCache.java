@@ -0,0 +1,273 @@
+package tropico;
+
+import tropico.utils.Backup;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.CRC32;
+
+/**
+ * This class keeps the scenarios compiled into a binary image, so that they are
+ * loaded without parsing their json files. An image is named after the
+ * scenario and a hash of the json files : once a file changes, the image isn't
+ * used anymore and is replaced at the next load. The scenario doesn't depend on
+ * the difficulty, so one image serves all the difficulties.
+ * 
+ * An image starts with the 4 bytes "TRPC", the version of the format and the
+ * hash of the json files. Then comes the scenario, written by Scenario.write,
+ * and the CRC32 of its bytes, checked before the scenario is read : a
+ * corrupted value of the image is never loaded. The images are mapped in
+ * memory to be read.
+ * 
+ * The directory of the images can be changed with the system property
+ * tropico.cache, an empty value disabling the cache.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public final class ScenarioCache {
+
+	/**
+	 * The directory of the images, null if the cache is disabled.
+	 */
+	private static final Path CACHE_PATH = getCachePath();
+
+	/**
+	 * The first bytes of every image.
+	 */
+	private static final byte[] MAGIC = { 'T', 'R', 'P', 'C' };
+
+	/**
+	 * The version of the format, written after the magic bytes. Must be
+	 * incremented at each change of the format of the scenarios.
+	 */
+	private static final int VERSION = 3;
+
+	/**
+	 * The json files of a scenario, in the order they are hashed.
+	 */
+	private static final String[] FILES = { "factions.json", "resources.json", "settings.json", "events.json" };
+
+	/**
+	 * The suffix of the images.
+	 */
+	private static final String SUFFIX = ".scn";
+
+	/**
+	 * <b>ScenarioCache's constructor</b>
+	 * 
+	 * This class only has static methods.
+	 */
+	private ScenarioCache() {
+	}
+
+	/**
+	 * Reads the system property tropico.cache.
+	 * 
+	 * @return Returns the directory of the images, null if the cache is disabled.
+	 */
+	private static Path getCachePath() {
+		String path = System.getProperty("tropico.cache",
+				Path.of(System.getProperty("java.io.tmpdir"), "tropico").toString());
+		return path.isEmpty() ? null : Path.of(path);
+	}
+
+	/**
+	 * Checks if the scenarios are compiled.
+	 * 
+	 * @return Returns false if the cache is disabled by the system property
+	 *         tropico.cache.
+	 */
+	public static boolean isEnabled() {
+		return CACHE_PATH != null;
+	}
+
+	/**
+	 * Loads a scenario from its image. If there is no image of the current json
+	 * files, or if it can't be read, the json files are read and the image is
+	 * written for the next loads.
+	 * 
+	 * @param name The name of the scenario.
+	 * @return Returns the scenario.
+	 * @throws FileNotFoundException Throws a FileNotFoundException if a json file
+	 *                               is missing.
+	 */
+	public static Scenario load(String name) throws FileNotFoundException {
+		byte[] hash;
+		try {
+			hash = hash(name);
+		} catch (IOException e) {
+			// The files will be read again, and their errors thrown
+			return Scenario.loadJson(name);
+		}
+
+		Path image = CACHE_PATH.resolve(name + "-" + toHex(hash) + SUFFIX);
+		try {
+			return read(image, hash);
+		} catch (IOException e) {
+			// No image, or an image which can't be used
+		}
+
+		Scenario scenario = Scenario.loadJson(name);
+		try {
+			write(image, hash, scenario);
+			deleteOthers(name + "-" + "?".repeat(hash.length * 2), image);
+		} catch (IOException e) {
+			// The scenario is loaded from the json files until the image is written
+		}
+		return scenario;
+	}
+
+	/**
+	 * Hashes the json files of a scenario with SHA-256. The settings are
+	 * optional, so a missing file is hashed as an empty one.
+	 * 
+	 * @param name The name of the scenario.
+	 * @return Returns the hash.
+	 * @throws IOException Throws an IOException if a json file can't be read.
+	 */
+	private static byte[] hash(String name) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform must support SHA-256
+			throw new IllegalStateException(e);
+		}
+
+		Path directory = Path.of(Scenario.getDirectory(name));
+		for (String file : FILES) {
+			byte[] bytes;
+			try {
+				bytes = Files.readAllBytes(directory.resolve(file));
+			} catch (NoSuchFileException e) {
+				bytes = new byte[0];
+			}
+			// The length separates the files
+			digest.update(ByteBuffer.allocate(Long.BYTES).putLong(bytes.length).array());
+			digest.update(bytes);
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Reads a scenario from its image.
+	 * 
+	 * @param image The path of the image.
+	 * @param hash  The hash of the json files.
+	 * @return Returns the scenario.
+	 * @throws IOException Throws an IOException if there is no image, or if it
+	 *                     can't be used.
+	 */
+	private static Scenario read(Path image, byte[] hash) throws IOException {
+		MappedByteBuffer buffer;
+		try (FileChannel channel = FileChannel.open(image, StandardOpenOption.READ)) {
+			buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+		}
+
+		SaveReader in = new SaveReader(buffer);
+		for (byte b : MAGIC) {
+			if (in.readByte() != b) {
+				throw new IOException("This file isn't a compiled scenario.");
+			}
+		}
+		if (in.readInt() != VERSION) {
+			throw new IOException("The version of the compiled scenario isn't supported.");
+		}
+		for (byte b : hash) {
+			if ((byte) in.readByte() != b) {
+				throw new IOException("The compiled scenario doesn't match the json files.");
+			}
+		}
+
+		// The CRC32 of the scenario is written after it, on 8 bytes
+		int end = buffer.limit() - Long.BYTES;
+		if (end < buffer.position()) {
+			throw new IOException("The compiled scenario is truncated.");
+		}
+		CRC32 crc = new CRC32();
+		crc.update(buffer.duplicate().limit(end));
+		if (buffer.getLong(end) != crc.getValue()) {
+			throw new IOException("The compiled scenario is corrupted.");
+		}
+
+		buffer.limit(end);
+		Scenario scenario = Scenario.read(in);
+		if (!in.isOver()) {
+			throw new IOException("The compiled scenario is corrupted : unexpected data after the scenario.");
+		}
+		return scenario;
+	}
+
+	/**
+	 * Writes the image of a scenario, replacing it atomically.
+	 * 
+	 * @param image    The path of the image.
+	 * @param hash     The hash of the json files.
+	 * @param scenario The scenario.
+	 * @throws IOException Throws an IOException if the image can't be written.
+	 */
+	private static void write(Path image, byte[] hash, Scenario scenario) throws IOException {
+		SaveWriter out = new SaveWriter();
+		for (byte b : MAGIC) {
+			out.writeByte(b);
+		}
+		out.writeInt(VERSION);
+		for (byte b : hash) {
+			out.writeByte(b);
+		}
+		int start = out.size();
+		scenario.write(out);
+		byte[] bytes = out.toByteArray();
+		CRC32 crc = new CRC32();
+		crc.update(bytes, start, bytes.length - start);
+		out.writeLong(crc.getValue());
+
+		Files.createDirectories(image.getParent());
+		Backup.write(image, out.toByteArray());
+	}
+
+	/**
+	 * Deletes the images of the older json files of a scenario.
+	 * 
+	 * @param pattern The glob matching the names of the images of the scenario,
+	 *                without their suffix.
+	 * @param image   The path of the image to keep.
+	 * @throws IOException Throws an IOException if the directory can't be read.
+	 */
+	private static void deleteOthers(String pattern, Path image) throws IOException {
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(CACHE_PATH, pattern + SUFFIX)) {
+			for (Path file : files) {
+				if (!file.equals(image)) {
+					Files.deleteIfExists(file);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Writes bytes as hexadecimal digits.
+	 * 
+	 * @param bytes The bytes.
+	 * @return Returns the hexadecimal string.
+	 */
+	private static String toHex(byte[] bytes) {
+		StringBuilder hex = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes) {
+			hex.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return hex.toString();
+	}
+}
@@ -0,0 +1,67 @@
+package tropico;
+
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class loads each scenario once, and shares it between all the games of
+ * the application. A scenario is immutable, so the games only hold their own
+ * state : the players, the event pool, the pending events and the random
+ * generator.
+ * 
+ * The scenario doesn't depend on the difficulty, each game applies its own
+ * difficulty, so a scenario is loaded once for all the difficulties. The
+ * registry can be used by several threads.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public final class ScenarioRegistry {
+
+	/**
+	 * The loaded scenarios, by name.
+	 */
+	private static final Map<String, Scenario> SCENARIOS = new ConcurrentHashMap<>();
+
+	/**
+	 * <b>ScenarioRegistry's constructor</b>
+	 * 
+	 * This class only has static methods.
+	 */
+	private ScenarioRegistry() {
+	}
+
+	/**
+	 * Returns a scenario, loaded with Scenario.load the first time. If several
+	 * threads ask for the same scenario, it is only loaded once.
+	 * 
+	 * @param name The name of the scenario.
+	 * @return Returns the scenario.
+	 * @throws FileNotFoundException Throws a FileNotFoundException if a file of
+	 *                               the scenario is missing.
+	 */
+	public static Scenario get(String name) throws FileNotFoundException {
+		try {
+			return SCENARIOS.computeIfAbsent(name, k -> {
+				try {
+					return Scenario.load(name);
+				} catch (FileNotFoundException e) {
+					throw new UncheckedIOException(e);
+				}
+			});
+		} catch (UncheckedIOException e) {
+			// Nothing is registered, the next call tries again
+			throw (FileNotFoundException) e.getCause();
+		}
+	}
+
+	/**
+	 * Forgets all the scenarios, so that they are loaded again the next time. The
+	 * games already created keep their scenario.
+	 */
+	public static void clear() {
+		SCENARIOS.clear();
+	}
+}
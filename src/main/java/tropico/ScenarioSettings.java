@@ -0,0 +1,69 @@
+package tropico;
+
+import java.io.Serializable;
+
+/**
+ * This class contains the optional settings of a scenario, read from the file
+ * settings.json of the scenario. The default values are used when the file or
+ * a setting is missing.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class ScenarioSettings implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The default probability that a pending event occurs instead of a new one.
+	 */
+	private static final double DEFAULT_PENDING_EVENT_PROBABILITY = 1.0 / 3;
+
+	/**
+	 * The probability that a pending event of the season occurs instead of a new
+	 * event.
+	 */
+	private final double pendingEventProbability;
+
+	/**
+	 * <b>ScenarioSettings's constructor</b>
+	 * 
+	 * Creates the default settings.
+	 */
+	public ScenarioSettings() {
+		this(DEFAULT_PENDING_EVENT_PROBABILITY);
+	}
+
+	/**
+	 * <b>ScenarioSettings's second constructor</b>
+	 * 
+	 * Creates settings with the probability of the pending events.
+	 * 
+	 * @param pendingEventProbability The probability that a pending event occurs,
+	 *                                between 0 and 1.
+	 */
+	public ScenarioSettings(double pendingEventProbability) {
+		if (!(pendingEventProbability >= 0 && pendingEventProbability <= 1)) {
+			throw new IllegalArgumentException("The probability must be between 0 and 1.");
+		}
+		this.pendingEventProbability = pendingEventProbability;
+	}
+
+	/**
+	 * Getter for the field pendingEventProbability.
+	 * 
+	 * @return Returns the probability that a pending event occurs instead of a new
+	 *         one.
+	 */
+	public double getPendingEventProbability() {
+		return pendingEventProbability;
+	}
+
+	@Override
+	public String toString() {
+		return "ScenarioSettings{" + "pendingEventProbability=" + pendingEventProbability + '}';
+	}
+}
@@ -0,0 +1,49 @@
+package tropico.ai;
+
+import tropico.GameState;
+import tropico.Player;
+
+/**
+ * The evaluation of a game for an advised player, shared by the searches of
+ * this package. The score is between 0 and 1, higher is better :
+ * <ul>
+ * <li>A defeat of the advised player scores up to 0.5 depending on how long he
+ * lasted</li>
+ * <li>A defeat of another player scores 1</li>
+ * <li>Otherwise, the score goes from 0.5 to 1 with the average satisfaction of
+ * the advised player's supporters</li>
+ * </ul>
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+final class Evaluation {
+
+	/**
+	 * <b>Evaluation's constructor</b>
+	 * 
+	 * Private constructor, this class only has static methods.
+	 */
+	private Evaluation() {
+	}
+
+	/**
+	 * Scores a game for a player.
+	 * 
+	 * @param game     The game to score.
+	 * @param player   The index of the advised player.
+	 * @param progress The part of the search the player lasted, between 0 and 1,
+	 *                 used if he lost.
+	 * @return Returns the score of the game, between 0 and 1.
+	 */
+	static double score(GameState game, int player, double progress) {
+		Player p = game.getPlayers().get(player);
+		if (p.isDead()) {
+			return 0.5 * progress;
+		}
+		if (game.isGameOver()) {
+			return 1;
+		}
+		return 0.5 + 0.5 * p.getAverageSatisfaction() / 100;
+	}
+}
@@ -0,0 +1,241 @@
+package tropico.ai;
+
+import tropico.GameState;
+import tropico.Player;
+import tropico.events.Choice;
+import tropico.events.Event;
+import tropico.simulation.Policy;
+import tropico.utils.GameRandom;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class searches the best choice for the current event with a
+ * depth-limited expectimax.
+ * 
+ * The choices of the advised player are max nodes, and the choices of the other
+ * players are averaged, as if they played randomly. The events drawn at the end
+ * of each turn are chance nodes, every possible event being explored with its
+ * exact probability. The randomness of the end of the year (the famine deaths
+ * and the new supporters) has far too many outcomes to be explored : it is
+ * sampled a fixed number of times instead. At the end of the year, the players
+ * buy the food missing to feed their supporters and make no bribe.
+ * 
+ * The values of the states are kept in a transposition table of fixed size, so
+ * that a state reached by different orders of choices is only searched once.
+ * The table is kept from one search to the next, the states being hashed with
+ * the advised player : the same solver can advise all the players of a game.
+ * 
+ * A solver isn't thread-safe.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class ExpectimaxSolver implements Policy {
+
+	/**
+	 * The maximum depth of a search, the depths being stored on a byte.
+	 */
+	private static final int MAX_DEPTH = 100;
+
+	/**
+	 * The number of turns searched, counting the turns of all the players.
+	 */
+	private final int depth;
+
+	/**
+	 * The number of samples of the randomness of each end of year.
+	 */
+	private final int yearSamples;
+
+	/**
+	 * The values of the states already searched.
+	 */
+	private final TranspositionTable table;
+
+	/**
+	 * The random generator seeding the samples of the ends of year.
+	 */
+	private final GameRandom random;
+
+	/**
+	 * The number of states searched since the start of the search.
+	 */
+	private long states;
+
+	/**
+	 * <b>ExpectimaxSolver's constructor</b>
+	 * 
+	 * Creates a solver.
+	 * 
+	 * @param depth       The number of turns searched, counting the turns of all
+	 *                    the players.
+	 * @param yearSamples The number of samples of the randomness of each end of
+	 *                    year.
+	 * @param tableBits   The logarithm of the number of slots of the transposition
+	 *                    table, each slot using 18 bytes.
+	 * @param random      The random generator seeding the samples.
+	 */
+	public ExpectimaxSolver(int depth, int yearSamples, int tableBits, GameRandom random) {
+		if (depth <= 0 || depth > MAX_DEPTH) {
+			throw new IllegalArgumentException("The depth must be between 1 and " + MAX_DEPTH + ".");
+		}
+		if (yearSamples <= 0) {
+			throw new IllegalArgumentException("The number of samples must be superior to 0.");
+		}
+		this.depth = depth;
+		this.yearSamples = yearSamples;
+		this.table = new TranspositionTable(tableBits);
+		this.random = Objects.requireNonNull(random);
+	}
+
+	/**
+	 * Searches the value of each choice of the current event for the current
+	 * player. The game isn't modified.
+	 * 
+	 * @param game The GameState of the game being played.
+	 * @return Returns the recommendations for all the choices of the event, the
+	 *         best one first. The visits of a recommendation are the number of
+	 *         states searched for its choice.
+	 */
+	public List<Recommendation> solve(GameState game) {
+		table.newSearch();
+		int player = game.getCurrentPlayer();
+		List<Choice> choices = game.getCurrentEvent().getChoices();
+		List<Recommendation> recommendations = new ArrayList<>(choices.size());
+
+		for (int i = 0; i < choices.size(); i++) {
+			states = 0;
+			double value = afterChoice(game, player, i, depth);
+			recommendations.add(new Recommendation(i, choices.get(i), states, value));
+		}
+
+		recommendations.sort(Comparator.comparingDouble(Recommendation::getScore).reversed());
+		return recommendations;
+	}
+
+	/**
+	 * Computes the value of a game at the start of a turn : the best choice for the
+	 * advised player, the mean of the choices for the others.
+	 * 
+	 * @param game   The game, not modified.
+	 * @param player The index of the advised player.
+	 * @param depth  The number of turns left to search.
+	 * @return Returns the value of the game.
+	 */
+	private double value(GameState game, int player, int depth) {
+		long key = StateHash.of(game, player);
+		double value = table.get(key, depth);
+		if (!Double.isNaN(value)) {
+			return value;
+		}
+		states++;
+
+		int count = game.getCurrentEvent().getChoices().size();
+		if (game.getCurrentPlayer() == player) {
+			value = Double.NEGATIVE_INFINITY;
+			for (int i = 0; i < count; i++) {
+				value = Math.max(value, afterChoice(game, player, i, depth));
+			}
+		} else {
+			value = 0;
+			for (int i = 0; i < count; i++) {
+				value += afterChoice(game, player, i, depth);
+			}
+			value /= count;
+		}
+
+		table.put(key, depth, value);
+		return value;
+	}
+
+	/**
+	 * Computes the value of a choice, including the end of the year if the turn
+	 * ends it.
+	 * 
+	 * @param game   The game, not modified.
+	 * @param player The index of the advised player.
+	 * @param choice The index of the choice in the current event's choices.
+	 * @param depth  The number of turns left to search, including this one.
+	 * @return Returns the value of the choice.
+	 */
+	private double afterChoice(GameState game, int player, int choice, int depth) {
+		GameState fork = game.fork();
+		Event event = fork.getCurrentEvent();
+		fork.applyChoice(event.getChoices().get(choice));
+		if (fork.isGameOver()) {
+			return Evaluation.score(fork, player, 0);
+		}
+		if (!fork.isEndOfYear()) {
+			return afterTurn(fork, player, depth);
+		}
+
+		Player p = fork.getPlayer();
+		int food = Math.min(p.getFoodShortage(), p.getTreasury() / 8);
+		if (food > 0) {
+			p.buyFood(food);
+		}
+
+		double value = 0;
+		for (int i = 0; i < yearSamples; i++) {
+			GameState year = fork.fork(random.nextLong());
+			year.getPlayer().generateResources();
+			value += year.isGameOver() ? Evaluation.score(year, player, 0) : afterTurn(year, player, depth);
+		}
+		return value / yearSamples;
+	}
+
+	/**
+	 * Computes the value of a game at the end of a turn, as the mean of the values
+	 * of all the possible next events weighted by their probability.
+	 * 
+	 * @param game   The game, not modified.
+	 * @param player The index of the advised player.
+	 * @param depth  The number of turns left to search, including the one ending.
+	 * @return Returns the value of the game.
+	 */
+	private double afterTurn(GameState game, int player, int depth) {
+		int drawable = game.getDrawableEvents();
+		if (depth == 1 || drawable == 0) {
+			return Evaluation.score(game, player, 0);
+		}
+
+		double pending = game.getPendingEventChance();
+		double value = 0;
+		if (pending > 0) {
+			value += pending * nextTurn(game, player, -1, depth);
+		}
+		for (int i = 0; i < drawable; i++) {
+			value += (1 - pending) / drawable * nextTurn(game, player, i, depth);
+		}
+		return value;
+	}
+
+	/**
+	 * Computes the value of the next turn if the given event is drawn.
+	 * 
+	 * @param game   The game, not modified.
+	 * @param player The index of the advised player.
+	 * @param event  The event drawn, as expected by GameState.endTurn(int).
+	 * @param depth  The number of turns left to search, including the one ending.
+	 * @return Returns the value of the next turn.
+	 */
+	private double nextTurn(GameState game, int player, int event, int depth) {
+		GameState fork = game.fork();
+		fork.endTurn(event);
+		return value(fork, player, depth - 1);
+	}
+
+	@Override
+	public int choose(GameState game, Event event) {
+		return solve(game).get(0).getIndex();
+	}
+
+	@Override
+	public int foodToBuy(GameState game) {
+		return game.getPlayer().getFoodShortage();
+	}
+}
@@ -0,0 +1,297 @@
+package tropico.ai;
+
+import tropico.GameState;
+import tropico.events.Choice;
+import tropico.events.Event;
+import tropico.simulation.Policy;
+import tropico.simulation.RandomPolicy;
+import tropico.simulation.Simulation;
+import tropico.utils.GameRandom;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * This class advises the current player on the choice to make for the current
+ * event, with a Monte Carlo Tree Search.
+ * 
+ * Each simulation forks the game with a new seed, so that the events and the
+ * other random draws that follow the choice are drawn again. The choices of the
+ * advised player are selected in the tree with the UCB1 formula until a choice
+ * never tried is reached, then the game goes on with random choices until the
+ * horizon or a defeat. The other players always play random choices.
+ * 
+ * The search runs on several threads with root parallelism : each thread builds
+ * its own tree from its own fork of the game, and the statistics of the first
+ * choices are summed at the end, so that the threads never synchronize.
+ * 
+ * The advisor is also a Policy, so that it can play the games of a bot player.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class MctsAdvisor implements Policy {
+
+	/**
+	 * The exploration constant of the UCB1 formula.
+	 */
+	private static final double EXPLORATION = Math.sqrt(2);
+
+	/**
+	 * The number of turns played by each simulation, counting the turns of all the
+	 * players.
+	 */
+	private final int horizon;
+
+	/**
+	 * The time given to each search.
+	 */
+	private final Duration budget;
+
+	/**
+	 * The number of threads of each search.
+	 */
+	private final int threads;
+
+	/**
+	 * The random generator split to seed the simulations.
+	 */
+	private final GameRandom random;
+
+	/**
+	 * <b>MctsAdvisor's constructor</b>
+	 * 
+	 * Creates an advisor.
+	 * 
+	 * @param horizon The number of turns played by each simulation, counting the
+	 *                turns of all the players.
+	 * @param budget  The time given to each search.
+	 * @param threads The number of threads of each search.
+	 * @param random  The random generator seeding the simulations.
+	 */
+	public MctsAdvisor(int horizon, Duration budget, int threads, GameRandom random) {
+		if (horizon <= 0) {
+			throw new IllegalArgumentException("The horizon must be superior to 0.");
+		}
+		if (threads <= 0) {
+			throw new IllegalArgumentException("The number of threads must be superior to 0.");
+		}
+		if (budget.isNegative() || budget.isZero()) {
+			throw new IllegalArgumentException("The budget must be positive.");
+		}
+		this.horizon = horizon;
+		this.budget = budget;
+		this.threads = threads;
+		this.random = Objects.requireNonNull(random);
+	}
+
+	/**
+	 * Searches the best choice for the current event of the current player, within
+	 * the time budget of the advisor. The game isn't modified.
+	 * 
+	 * @param game The GameState of the game being played.
+	 * @return Returns the recommendations for all the choices of the event, the
+	 *         best one first.
+	 */
+	public List<Recommendation> recommend(GameState game) {
+		long deadline = System.nanoTime() + budget.toNanos();
+		List<Callable<Node>> searches = new ArrayList<>(threads);
+
+		// Each thread gets its own fork, the game itself isn't shared
+		for (int i = 0; i < threads; i++) {
+			GameState fork = game.fork();
+			GameRandom seeds = random.split();
+			searches.add(() -> search(fork, seeds, deadline));
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		List<Node> roots = new ArrayList<>(threads);
+		try {
+			for (Future<Node> future : pool.invokeAll(searches)) {
+				roots.add(future.get());
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The search was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+
+		return rank(game.getCurrentEvent(), roots);
+	}
+
+	/**
+	 * Sums the statistics of the first choices of all the trees, and sorts the
+	 * choices by number of simulations, then by score.
+	 * 
+	 * @param event The event of the search.
+	 * @param roots The roots of the trees built by the threads.
+	 * @return Returns the recommendations, the best one first.
+	 */
+	private static List<Recommendation> rank(Event event, List<Node> roots) {
+		List<Choice> choices = event.getChoices();
+		List<Recommendation> recommendations = new ArrayList<>(choices.size());
+
+		for (int i = 0; i < choices.size(); i++) {
+			long visits = 0;
+			double score = 0;
+			for (Node root : roots) {
+				Node child = root.getChild(i);
+				if (child != null) {
+					visits += child.visits;
+					score += child.score;
+				}
+			}
+			recommendations.add(new Recommendation(i, choices.get(i), visits, visits == 0 ? 0 : score / visits));
+		}
+
+		recommendations.sort(Comparator.comparingLong(Recommendation::getVisits)
+				.thenComparingDouble(Recommendation::getScore).reversed());
+		return recommendations;
+	}
+
+	/**
+	 * Builds a tree until the deadline. At least one simulation is run, so that
+	 * every search gives an advice.
+	 * 
+	 * @param game     The fork of the game owned by this thread.
+	 * @param seeds    The random generator of this thread.
+	 * @param deadline The value of System.nanoTime at which the search stops.
+	 * @return Returns the root of the tree.
+	 */
+	private Node search(GameState game, GameRandom seeds, long deadline) {
+		Node root = new Node();
+		TreePolicy policy = new TreePolicy(game.getCurrentPlayer(), new RandomPolicy(seeds.split()));
+		Simulation simulation = new Simulation(policy, horizon);
+
+		do {
+			policy.start(root);
+			GameState fork = game.fork(seeds.nextLong());
+			double score = playout(simulation, fork, game.getTurn());
+			policy.backPropagate(score);
+		} while (System.nanoTime() < deadline);
+
+		return root;
+	}
+
+	/**
+	 * Plays a simulation until the horizon or a defeat, and scores it for the
+	 * advised player with Evaluation.score.
+	 * 
+	 * @param simulation The simulation playing the turns.
+	 * @param game       The fork of the game to play.
+	 * @param start      The turn at which the search started.
+	 * @return Returns the score of the simulation, between 0 and 1.
+	 */
+	private double playout(Simulation simulation, GameState game, int start) {
+		int player = game.getCurrentPlayer();
+
+		for (int i = 0; i < horizon; i++) {
+			if (simulation.playTurn(game)) {
+				return Evaluation.score(game, player, (double) (game.getTurn() - start) / horizon);
+			}
+		}
+		return Evaluation.score(game, player, 1);
+	}
+
+	@Override
+	public int choose(GameState game, Event event) {
+		return recommend(game).get(0).getIndex();
+	}
+
+	@Override
+	public int foodToBuy(GameState game) {
+		return game.getPlayer().getFoodShortage();
+	}
+
+	/**
+	 * The policy of the simulations of a thread : it selects the choices of the
+	 * advised player in the tree, and delegates the other decisions to the rollout
+	 * policy.
+	 */
+	private static final class TreePolicy implements Policy {
+
+		/**
+		 * The index of the advised player.
+		 */
+		private final int player;
+
+		/**
+		 * The policy used out of the tree.
+		 */
+		private final Policy rollout;
+
+		/**
+		 * The nodes visited by the current simulation.
+		 */
+		private final List<Node> path = new ArrayList<>();
+
+		/**
+		 * The current node, null once the simulation left the tree.
+		 */
+		private Node node;
+
+		/**
+		 * <b>TreePolicy's constructor</b>
+		 * 
+		 * @param player  The index of the advised player.
+		 * @param rollout The policy used out of the tree.
+		 */
+		private TreePolicy(int player, Policy rollout) {
+			this.player = player;
+			this.rollout = rollout;
+		}
+
+		/**
+		 * Starts a simulation from the root of the tree.
+		 * 
+		 * @param root The root of the tree.
+		 */
+		private void start(Node root) {
+			path.clear();
+			path.add(root);
+			node = root;
+		}
+
+		/**
+		 * Adds the score of the simulation to the nodes it visited.
+		 * 
+		 * @param score The score of the simulation.
+		 */
+		private void backPropagate(double score) {
+			for (Node visited : path) {
+				visited.visits++;
+				visited.score += score;
+			}
+		}
+
+		@Override
+		public int choose(GameState game, Event event) {
+			if (node == null || game.getCurrentPlayer() != player) {
+				return rollout.choose(game, event);
+			}
+
+			int choice = node.select(event.getChoices().size(), EXPLORATION);
+			Node child = node.getChild(choice);
+			path.add(child);
+
+			// A new node ends the part of the simulation in the tree
+			node = child.visits == 0 ? null : child;
+			return choice;
+		}
+
+		@Override
+		public int foodToBuy(GameState game) {
+			return rollout.foodToBuy(game);
+		}
+	}
+}
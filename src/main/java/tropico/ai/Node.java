@@ -0,0 +1,78 @@
+package tropico.ai;
+
+/**
+ * A node of the search tree of a MctsAdvisor. A node stands for a sequence of
+ * choices of the advised player, whatever the events drawn between them : the
+ * events are drawn again at each simulation, so the same node can be reached
+ * with different events, having different numbers of choices. The children are
+ * therefore created when a simulation first needs them.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+class Node {
+
+	/**
+	 * No children yet.
+	 */
+	private static final Node[] NO_CHILDREN = new Node[0];
+
+	/**
+	 * The number of simulations which went through this node.
+	 */
+	long visits;
+
+	/**
+	 * The sum of the scores of these simulations.
+	 */
+	double score;
+
+	/**
+	 * The child for each choice, null if no simulation tried it yet.
+	 */
+	private Node[] children = NO_CHILDREN;
+
+	/**
+	 * Gives the child of a choice, null if no simulation tried it yet.
+	 * 
+	 * @param choice The index of the choice.
+	 * @return Returns the child, or null.
+	 */
+	Node getChild(int choice) {
+		return choice < children.length ? children[choice] : null;
+	}
+
+	/**
+	 * Selects the child to explore among the given number of choices. A choice
+	 * never tried is created and returned first, otherwise the child maximizing
+	 * the UCB1 formula is returned.
+	 * 
+	 * @param count       The number of choices of the current event.
+	 * @param exploration The exploration constant of the UCB1 formula.
+	 * @return Returns the index of the selected choice.
+	 */
+	int select(int count, double exploration) {
+		if (children.length < count) {
+			Node[] grown = new Node[count];
+			System.arraycopy(children, 0, grown, 0, children.length);
+			children = grown;
+		}
+
+		double logVisits = Math.log(Math.max(visits, 1));
+		int best = -1;
+		double bestValue = Double.NEGATIVE_INFINITY;
+		for (int i = 0; i < count; i++) {
+			Node child = children[i];
+			if (child == null) {
+				children[i] = new Node();
+				return i;
+			}
+			double value = child.score / child.visits + exploration * Math.sqrt(logVisits / child.visits);
+			if (value > bestValue) {
+				bestValue = value;
+				best = i;
+			}
+		}
+		return best;
+	}
+}
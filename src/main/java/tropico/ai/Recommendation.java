@@ -0,0 +1,93 @@
+package tropico.ai;
+
+import tropico.events.Choice;
+
+/**
+ * This class represents the advice given for one choice of an event : how many
+ * simulations (or searched states, for an ExpectimaxSolver) started with it,
+ * and the score they reached. The score is between 0 and 1, higher is better.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class Recommendation {
+
+	/**
+	 * The index of the choice in the event's choices.
+	 */
+	private final int index;
+
+	/**
+	 * The choice itself.
+	 */
+	private final Choice choice;
+
+	/**
+	 * The number of simulations started with this choice.
+	 */
+	private final long visits;
+
+	/**
+	 * The mean score of these simulations.
+	 */
+	private final double score;
+
+	/**
+	 * <b>Recommendation's constructor</b>
+	 * 
+	 * Creates the recommendation of a choice.
+	 * 
+	 * @param index  The index of the choice in the event's choices.
+	 * @param choice The choice.
+	 * @param visits The number of simulations started with this choice.
+	 * @param score  The mean score of these simulations.
+	 */
+	public Recommendation(int index, Choice choice, long visits, double score) {
+		this.index = index;
+		this.choice = choice;
+		this.visits = visits;
+		this.score = score;
+	}
+
+	/**
+	 * Getter for the field index.
+	 * 
+	 * @return Returns the index of the choice in the event's choices.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Getter for the field choice.
+	 * 
+	 * @return Returns the recommended choice.
+	 */
+	public Choice getChoice() {
+		return choice;
+	}
+
+	/**
+	 * Getter for the field visits.
+	 * 
+	 * @return Returns the number of simulations started with this choice.
+	 */
+	public long getVisits() {
+		return visits;
+	}
+
+	/**
+	 * Getter for the field score.
+	 * 
+	 * @return Returns the mean score of the simulations, between 0 and 1.
+	 */
+	public double getScore() {
+		return score;
+	}
+
+	@Override
+	public String toString() {
+		return (index + 1) + ") " + choice.getLabel() + " : score " + Math.round(score * 100) + "/100 ("
+				+ visits + " simulations)";
+	}
+}
@@ -0,0 +1,83 @@
+package tropico.ai;
+
+import tropico.GameState;
+import tropico.Player;
+import tropico.utils.GameRandom;
+
+/**
+ * Computes a 64-bit hash of a game, Zobrist-style : each feature of the game
+ * (the season, the current event, each resource and each value of each faction)
+ * has its own random key, and the hash is the exclusive or of the mixes of each
+ * key with the value of its feature. Two states reached by different orders of
+ * choices have therefore the same hash, and a change of one feature only
+ * changes one term of the hash.
+ * 
+ * The pools of events aren't part of the hash : two games which differ only by
+ * the events already drawn are considered the same. The advised player is part
+ * of it, since the value of a state depends on the player it is searched for.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+final class StateHash {
+
+	/**
+	 * The number of features of a player which aren't faction values.
+	 */
+	private static final int RESOURCE_FEATURES = 4;
+
+	/**
+	 * <b>StateHash's constructor</b>
+	 * 
+	 * Private constructor, this class only has static methods.
+	 */
+	private StateHash() {
+	}
+
+	/**
+	 * Computes the hash of a game searched for a player.
+	 * 
+	 * @param game   The game.
+	 * @param player The index of the advised player.
+	 * @return Returns the hash, never 0.
+	 */
+	static long of(GameState game, int player) {
+		long hash = term(0, game.getSeason().ordinal()) ^ term(1, game.getCurrentPlayer());
+		hash ^= term(2, game.getCurrentEvent().getId()) ^ term(3, player);
+
+		int feature = 4;
+		for (Player p : game.getPlayers()) {
+			hash ^= term(feature, p.getIndustry()) ^ term(feature + 1, p.getFarming())
+					^ term(feature + 2, p.getTreasury()) ^ term(feature + 3, p.getFoodUnit());
+			feature += RESOURCE_FEATURES;
+
+			for (int i = 0; i < p.getFactionCount(); i++) {
+				hash ^= term(feature, p.getSatisfaction(i)) ^ term(feature + 1, p.getSupporter(i));
+				feature += 2;
+			}
+		}
+		// 0 marks the empty slots of the transposition table
+		return hash == 0 ? 1 : hash;
+	}
+
+	/**
+	 * Computes the term of a feature in the hash.
+	 * 
+	 * @param feature The index of the feature.
+	 * @param value   The value of the feature.
+	 * @return Returns the term.
+	 */
+	static long term(int feature, long value) {
+		return GameRandom.mix64(key(feature) ^ value);
+	}
+
+	/**
+	 * Computes the random key of a feature.
+	 * 
+	 * @param feature The index of the feature.
+	 * @return Returns the key.
+	 */
+	private static long key(int feature) {
+		return GameRandom.mix64((feature + 1) * 0x9e3779b97f4a7c15L);
+	}
+}
@@ -0,0 +1,117 @@
+package tropico.ai;
+
+import java.util.Arrays;
+
+/**
+ * A fixed-size table of the values of the states already evaluated by an
+ * ExpectimaxSolver, indexed by the hash of the states.
+ * 
+ * The table never grows : when two states fall in the same slot, the one
+ * searched with the deepest remaining depth is kept, since it cost the most to
+ * compute. The entries of a previous search are always replaced, so that a
+ * table can be reused from one turn to another. The searches are counted on a
+ * byte, so the table is cleared every 256 searches : the older entries would
+ * otherwise pass for entries of the current search.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+class TranspositionTable {
+
+	/**
+	 * The full hash of the state in each slot, 0 for an empty slot.
+	 */
+	private final long[] keys;
+
+	/**
+	 * The value of the state in each slot.
+	 */
+	private final double[] values;
+
+	/**
+	 * The remaining depth with which the state of each slot was searched.
+	 */
+	private final byte[] depths;
+
+	/**
+	 * The search in which the state of each slot was stored.
+	 */
+	private final byte[] generations;
+
+	/**
+	 * The mask giving the slot of a hash.
+	 */
+	private final int mask;
+
+	/**
+	 * The current search.
+	 */
+	private byte generation;
+
+	/**
+	 * <b>TranspositionTable's constructor</b>
+	 * 
+	 * Creates an empty table of 2^bits slots, each using 18 bytes.
+	 * 
+	 * @param bits The logarithm of the number of slots, between 1 and 30.
+	 */
+	TranspositionTable(int bits) {
+		if (bits < 1 || bits > 30) {
+			throw new IllegalArgumentException("The size of the table must be between 2^1 and 2^30.");
+		}
+		int size = 1 << bits;
+		keys = new long[size];
+		values = new double[size];
+		depths = new byte[size];
+		generations = new byte[size];
+		mask = size - 1;
+	}
+
+	/**
+	 * Starts a new search : the entries already stored can still be read, but will
+	 * be replaced by any new one. Clears the table when the counter of searches
+	 * wraps.
+	 */
+	void newSearch() {
+		generation++;
+		if (generation == 0) {
+			Arrays.fill(keys, 0);
+			Arrays.fill(depths, (byte) 0);
+			Arrays.fill(generations, (byte) 0);
+		}
+	}
+
+	/**
+	 * Looks for the value of a state searched with at least the given depth.
+	 * 
+	 * @param key   The hash of the state.
+	 * @param depth The remaining depth of the search.
+	 * @return Returns the value, or NaN if the table doesn't contain it.
+	 */
+	double get(long key, int depth) {
+		int slot = (int) key & mask;
+		if (keys[slot] == key && depths[slot] >= depth) {
+			return values[slot];
+		}
+		return Double.NaN;
+	}
+
+	/**
+	 * Stores the value of a state, unless its slot holds a deeper state of the
+	 * current search.
+	 * 
+	 * @param key   The hash of the state.
+	 * @param depth The remaining depth of the search.
+	 * @param value The value of the state.
+	 */
+	void put(long key, int depth, double value) {
+		int slot = (int) key & mask;
+		if (generations[slot] == generation && depths[slot] > depth && keys[slot] != key) {
+			return;
+		}
+		keys[slot] = key;
+		values[slot] = value;
+		depths[slot] = (byte) depth;
+		generations[slot] = generation;
+	}
+}
@@ -1,12 +1,16 @@
 package tropico.events;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
+import tropico.FactionSet;
 import tropico.Player;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
 
 public class Choice implements Iterable<Effect>, Serializable {
 
@@ -30,20 +34,33 @@ public class Choice implements Iterable<Effect>, Serializable {
      */
     private final Event next;
 
+    /**
+     * The effects compiled for the factions of the scenario
+     */
+    private final ChoiceDelta delta;
+
+    /**
+     * The number of the Choice in its scenario, -1 until the scenario numbers it
+     */
+    private int id = -1;
+
 
     /**
      * <b>Choice's constructor</b>
      *
-     * Creates a choice object, requiring the label, effects and next event.
+     * Creates a choice object, requiring the label, effects, next event and the
+     * factions of the scenario, used to compile the effects.
      *
      * @param label        The label of the choice
      * @param effects      The effects of the choice
      * @param next         The event generated by this choice
+     * @param factions     The factions of the scenario
      */
-    public Choice(String label, List<Effect> effects, Event next) {
+    public Choice(String label, List<Effect> effects, Event next, FactionSet factions) {
         this.label = label;
         this.effects = Objects.requireNonNull(effects);
         this.next = next;
+        this.delta = ChoiceDelta.compile(effects, factions);
     }
 
     @Override
@@ -60,6 +77,28 @@ public class Choice implements Iterable<Effect>, Serializable {
         return label;
     }
 
+    /**
+     * Getter for the field id.
+     *
+     * @return The choice's number in its scenario, -1 if it isn't part of a
+     *         scenario yet.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Setter for the field id, called once by the EventIndex of the scenario.
+     *
+     * @param id The choice's number in its scenario.
+     */
+    void setId(int id) {
+        if (this.id != -1) {
+            throw new IllegalStateException("The choice " + label + " is already part of a scenario.");
+        }
+        this.id = id;
+    }
+
     /**
      * Get if the choice has a next event.
      *
@@ -85,12 +124,46 @@ public class Choice implements Iterable<Effect>, Serializable {
      * @return      The next event.
      */
     public Event choose(Player p) {
-    	for (Effect effect : effects) {
-			effect.applyEffect(p);
-		}
+    	delta.applyTo(p);
     	return next;
     }
 
+    /**
+     * Writes the choice, its effects and its next event into a compiled scenario.
+     *
+     * @param out   The writer of the compiled scenario.
+     */
+    public void write(SaveWriter out) {
+        out.writeString(label);
+        out.writeInt(effects.size());
+        for (Effect effect : effects) {
+            effect.write(out);
+        }
+        out.writeByte(next == null ? 0 : 1);
+        if (next != null) {
+            next.write(out);
+        }
+    }
+
+    /**
+     * Reads a choice written by write.
+     *
+     * @param in        The reader of the compiled scenario.
+     * @param factions  The factions of the scenario, used to compile the effects.
+     * @return          The choice, not numbered yet.
+     * @throws IOException if the compiled scenario is truncated or corrupted.
+     */
+    public static Choice read(SaveReader in, FactionSet factions) throws IOException {
+        String label = in.readString();
+        int count = in.readInt(0, in.remaining());
+        List<Effect> effects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            effects.add(Effect.read(in));
+        }
+        Event next = in.readByte() == 0 ? null : Event.read(in, factions);
+        return new Choice(label, effects, next, factions);
+    }
+
     /**
      * Makes Choice iterable on his effects
      *
@@ -0,0 +1,246 @@
+package tropico.events;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+import tropico.Difficulty;
+import tropico.FactionSet;
+import tropico.Player;
+
+/**
+ * This class contains the effects of a choice, compiled when the scenario is
+ * loaded : the factions are resolved to their index, and the changes of the
+ * satisfaction and of the supporters are stored in arrays indexed like the
+ * factions, so a choice is applied by looping over these arrays.
+ * 
+ * The effects are applied in the same order as before. The changes of a
+ * faction are only merged in the same array if it's the first change of this
+ * faction, because the bounds are applied after each change ; a second change
+ * of the same faction goes in a second array, applied after the first one. The
+ * changes of the resources are kept in their order, since the bounds of the
+ * industry and the farming depend on each other.
+ * 
+ * The values of the resources are the ones of the scenario, which don't depend
+ * on the difficulty. They are scaled once for each difficulty when the choice
+ * is compiled, so applying a choice only picks the values of the difficulty of
+ * the player.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class ChoiceDelta implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The types of the resources changed, in the order of the effects.
+	 */
+	private final OtherEffect.types[] resourceTypes;
+
+	/**
+	 * The values added to the resources, in the order of the effects, one array
+	 * for each difficulty, indexed by the ordinal of the difficulty.
+	 */
+	private final int[][] resourceValues;
+
+	/**
+	 * The values added to the satisfaction of each faction, one array for each
+	 * round of changes.
+	 */
+	private final int[][] satisfaction;
+
+	/**
+	 * The values added to the supporters of each faction, one array for each
+	 * round of changes.
+	 */
+	private final int[][] supporters;
+
+	/**
+	 * True for the values of supporters which are percentages.
+	 */
+	private final boolean[][] percentage;
+
+	/**
+	 * <b>ChoiceDelta's constructor</b>
+	 * 
+	 * Creates the delta from the arrays built by a Builder.
+	 * 
+	 * @param builder The builder containing the compiled effects.
+	 */
+	private ChoiceDelta(Builder builder) {
+		int count = builder.resourceTypes.size();
+		resourceTypes = builder.resourceTypes.toArray(new OtherEffect.types[count]);
+		Difficulty[] difficulties = Difficulty.values();
+		resourceValues = new int[difficulties.length][count];
+		for (int i = 0; i < count; i++) {
+			int value = builder.resourceValues.get(i);
+			for (Difficulty difficulty : difficulties) {
+				resourceValues[difficulty.ordinal()][i] = difficulty.scaleLoss(value);
+			}
+		}
+		satisfaction = builder.satisfaction.toArray(new int[0][]);
+		supporters = builder.supporters.toArray(new int[0][]);
+		percentage = builder.percentage.toArray(new boolean[0][]);
+	}
+
+	/**
+	 * Compiles the effects of a choice.
+	 * 
+	 * @param effects  The effects of the choice, in their order.
+	 * @param factions The factions of the scenario.
+	 * @return Returns the compiled effects.
+	 */
+	public static ChoiceDelta compile(List<Effect> effects, FactionSet factions) {
+		Builder builder = new Builder(factions);
+		for (Effect effect : effects) {
+			effect.compile(builder);
+		}
+		return new ChoiceDelta(builder);
+	}
+
+	/**
+	 * Applies the effects to the player, with the values of the resources scaled
+	 * for the difficulty of the game of the player.
+	 * 
+	 * @param p The player to apply the effects.
+	 */
+	public void applyTo(Player p) {
+		int[] resources = resourceValues[p.getDifficulty().ordinal()];
+		for (int i = 0; i < resourceTypes.length; i++) {
+			int value = resources[i];
+			switch (resourceTypes[i]) {
+			case INDUSTRY:
+				p.addIndustry(value);
+				break;
+			case FARMING:
+				p.addFarming(value);
+				break;
+			case TREASURY:
+				p.addMoney(value);
+				break;
+			case FOODUNIT:
+				p.addFood(value);
+			}
+		}
+		for (int[] values : satisfaction) {
+			p.addSatisfactions(values);
+		}
+		for (int i = 0; i < supporters.length; i++) {
+			p.addSupporters(supporters[i], percentage[i]);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ChoiceDelta{" + "resourceTypes=" + Arrays.toString(resourceTypes) + ", resourceValues="
+				+ Arrays.deepToString(resourceValues) + ", satisfaction=" + Arrays.deepToString(satisfaction)
+				+ ", supporters=" + Arrays.deepToString(supporters) + '}';
+	}
+
+	/**
+	 * This class builds a ChoiceDelta, each effect adding its changes to it.
+	 */
+	public static class Builder {
+
+		/**
+		 * The factions of the scenario.
+		 */
+		private final FactionSet factions;
+
+		/**
+		 * The types of the resources changed.
+		 */
+		private final List<OtherEffect.types> resourceTypes = new ArrayList<>();
+
+		/**
+		 * The values added to the resources.
+		 */
+		private final List<Integer> resourceValues = new ArrayList<>();
+
+		/**
+		 * The rounds of changes of the satisfaction.
+		 */
+		private final List<int[]> satisfaction = new ArrayList<>();
+
+		/**
+		 * The rounds of changes of the supporters.
+		 */
+		private final List<int[]> supporters = new ArrayList<>();
+
+		/**
+		 * The percentages of the rounds of changes of the supporters.
+		 */
+		private final List<boolean[]> percentage = new ArrayList<>();
+
+		/**
+		 * The number of rounds of changes of the satisfaction of each faction.
+		 */
+		private final int[] satisfactionRounds;
+
+		/**
+		 * The number of rounds of changes of the supporters of each faction.
+		 */
+		private final int[] supporterRounds;
+
+		/**
+		 * <b>Builder's constructor</b>
+		 * 
+		 * @param factions The factions of the scenario.
+		 */
+		private Builder(FactionSet factions) {
+			this.factions = Objects.requireNonNull(factions);
+			satisfactionRounds = new int[factions.size()];
+			supporterRounds = new int[factions.size()];
+		}
+
+		/**
+		 * Adds a change of a resource.
+		 * 
+		 * @param type  The type of the resource.
+		 * @param value The value added to the resource.
+		 */
+		void addResource(OtherEffect.types type, int value) {
+			resourceTypes.add(Objects.requireNonNull(type));
+			resourceValues.add(value);
+		}
+
+		/**
+		 * Adds a change of the satisfaction of a faction.
+		 * 
+		 * @param factionName The name of the faction.
+		 * @param value       The value added to the satisfaction.
+		 */
+		void addSatisfaction(String factionName, int value) {
+			int faction = factions.indexOf(factionName);
+			int round = satisfactionRounds[faction]++;
+			if (round == satisfaction.size()) {
+				satisfaction.add(new int[factions.size()]);
+			}
+			satisfaction.get(round)[faction] = value;
+		}
+
+		/**
+		 * Adds a change of the supporters of a faction.
+		 * 
+		 * @param factionName  The name of the faction.
+		 * @param value        The value added to the supporters.
+		 * @param isPercentage Indicates whether the value is a percentage or not.
+		 */
+		void addSupporter(String factionName, int value, boolean isPercentage) {
+			int faction = factions.indexOf(factionName);
+			int round = supporterRounds[faction]++;
+			if (round == supporters.size()) {
+				supporters.add(new int[factions.size()]);
+				percentage.add(new boolean[factions.size()]);
+			}
+			supporters.get(round)[faction] = value;
+			percentage.get(round)[faction] = isPercentage;
+		}
+	}
+}
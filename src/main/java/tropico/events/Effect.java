@@ -1,7 +1,11 @@
 package tropico.events;
 
+import tropico.Difficulty;
 import tropico.Player;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
 
+import java.io.IOException;
 import java.io.Serializable;
 
 public interface Effect extends Serializable {
@@ -22,4 +26,52 @@ public interface Effect extends Serializable {
 	 * @param p The player to apply the effect
 	 */
 	void applyEffect(Player p);
+
+	/**
+	 * Returns the effect as it is applied in a game of a difficulty, to display
+	 * it.
+	 *
+	 * @param difficulty The difficulty of the game
+	 * @return This effect, or a copy with the value scaled by the difficulty
+	 */
+	default Effect forDifficulty(Difficulty difficulty) {
+		return this;
+	}
+
+	/**
+	 * Adds the effect to the compiled effects of a choice.
+	 *
+	 * @param builder The builder of the compiled effects.
+	 */
+	void compile(ChoiceDelta.Builder builder);
+
+	/**
+	 * Writes the effect into a compiled scenario, starting with the tag of its
+	 * class.
+	 *
+	 * @param out The writer of the compiled scenario.
+	 */
+	void write(SaveWriter out);
+
+	/**
+	 * Reads an effect written by write.
+	 *
+	 * @param in The reader of the compiled scenario.
+	 * @return The effect
+	 * @throws IOException if the compiled scenario is truncated or corrupted
+	 */
+	static Effect read(SaveReader in) throws IOException {
+		int tag = in.readByte();
+		switch (tag) {
+		case FactionSatisfactionEffect.TAG:
+			return new FactionSatisfactionEffect(in.readString(), in.readInt());
+		case SupporterNumberEffect.TAG:
+			return new SupporterNumberEffect(in.readString(), in.readInt(), in.readByte() != 0);
+		case OtherEffect.TAG:
+			OtherEffect.types[] types = OtherEffect.types.values();
+			return new OtherEffect(types[in.readInt(0, types.length - 1)], in.readInt());
+		default:
+			throw new IOException("The compiled scenario is corrupted : unknown effect " + tag + ".");
+		}
+	}
 }
@@ -1,8 +1,13 @@
 package tropico.events;
 
+import tropico.FactionSet;
 import tropico.Season;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
 
+import java.io.IOException;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
@@ -29,6 +34,11 @@ public class Event implements Iterable<Choice>, Serializable {
 	 */
 	private final List<Choice> choices;
 
+	/**
+	 * The number of the Event in its scenario, -1 until the scenario numbers it
+	 */
+	private int id = -1;
+
 	/**
 	 * <b>Event's constructor</b>
 	 *
@@ -62,6 +72,28 @@ public class Event implements Iterable<Choice>, Serializable {
 		return List.copyOf(choices);
 	}
 
+	/**
+	 * Getter for the field id.
+	 *
+	 * @return The event's number in its scenario, -1 if it isn't part of a
+	 *         scenario yet.
+	 */
+	public int getId() {
+		return id;
+	}
+
+	/**
+	 * Setter for the field id, called once by the EventIndex of the scenario.
+	 *
+	 * @param id The event's number in its scenario.
+	 */
+	void setId(int id) {
+		if (this.id != -1) {
+			throw new IllegalStateException("The event " + name + " is already part of a scenario.");
+		}
+		this.id = id;
+	}
+
 	/**
 	 * Getter for the field name.
 	 *
@@ -80,6 +112,48 @@ public class Event implements Iterable<Choice>, Serializable {
 		return str.toString();
 	}
 
+	/**
+	 * Writes the event, its choices and the events they lead to into a compiled
+	 * scenario.
+	 *
+	 * @param out The writer of the compiled scenario
+	 */
+	public void write(SaveWriter out) {
+		out.writeString(name);
+		out.writeInt(seasons.size());
+		for (Season season : seasons) {
+			out.writeInt(season.ordinal());
+		}
+		out.writeInt(choices.size());
+		for (Choice choice : choices) {
+			choice.write(out);
+		}
+	}
+
+	/**
+	 * Reads an event written by write.
+	 *
+	 * @param in       The reader of the compiled scenario
+	 * @param factions The factions of the scenario, used to compile the choices
+	 * @return The event, not numbered yet
+	 * @throws IOException if the compiled scenario is truncated or corrupted
+	 */
+	public static Event read(SaveReader in, FactionSet factions) throws IOException {
+		String name = in.readString();
+		Season[] values = Season.values();
+		int count = in.readInt(0, in.remaining());
+		List<Season> seasons = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			seasons.add(values[in.readInt(0, values.length - 1)]);
+		}
+		count = in.readInt(0, in.remaining());
+		List<Choice> choices = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			choices.add(Choice.read(in, factions));
+		}
+		return new Event(name, seasons, choices);
+	}
+
 	/**
 	 * Make Event iterable on these choices
 	 *
@@ -0,0 +1,128 @@
+package tropico.events;
+
+import tropico.utils.GameRandom;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * This class numbers all the events and all the choices of a scenario when it
+ * is loaded, so that the state of a game and its saves can refer to them by
+ * their numbers instead of holding them. The events of the scenario are
+ * numbered in order, each one followed by the events its choices lead to
+ * (depth-first), so that the same scenario always gives the same numbers. The
+ * choices are numbered in the same order.
+ * 
+ * An event can only be part of one scenario.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public final class EventIndex implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The events, by number.
+	 */
+	private final List<Event> events = new ArrayList<>();
+
+	/**
+	 * The choices, by number.
+	 */
+	private final List<Choice> choices = new ArrayList<>();
+
+	/**
+	 * <b>EventIndex's constructor</b>
+	 * 
+	 * Numbers the events of a scenario, the ones their choices lead to, and all
+	 * their choices.
+	 * 
+	 * @param events The events of the scenario.
+	 */
+	public EventIndex(List<Event> events) {
+		for (Event event : events) {
+			add(event);
+		}
+	}
+
+	/**
+	 * Numbers an event and its choices, then the events its choices lead to.
+	 * 
+	 * @param event The event to number.
+	 */
+	private void add(Event event) {
+		event.setId(events.size());
+		events.add(event);
+		for (Choice choice : event) {
+			choice.setId(choices.size());
+			choices.add(choice);
+		}
+		for (Choice choice : event) {
+			if (choice.hasNextEvent()) {
+				add(choice.getNextEvent());
+			}
+		}
+	}
+
+	/**
+	 * Returns an event from its number.
+	 * 
+	 * @param id The number of the event.
+	 * @return Returns the event.
+	 */
+	public Event getEvent(int id) {
+		return events.get(id);
+	}
+
+	/**
+	 * Returns a choice from its number.
+	 * 
+	 * @param id The number of the choice.
+	 * @return Returns the choice.
+	 */
+	public Choice getChoice(int id) {
+		return choices.get(id);
+	}
+
+	/**
+	 * Returns the number of events.
+	 * 
+	 * @return Returns the number of events of the scenario, including the ones
+	 *         the choices lead to.
+	 */
+	public int getEventCount() {
+		return events.size();
+	}
+
+	/**
+	 * Returns the number of choices.
+	 * 
+	 * @return Returns the number of choices of all the events of the scenario.
+	 */
+	public int getChoiceCount() {
+		return choices.size();
+	}
+
+	/**
+	 * Computes a checksum of the names of the events and of the labels of the
+	 * choices in the order of their numbers, used to check that a save was made
+	 * with the same scenario.
+	 * 
+	 * @return Returns the checksum.
+	 */
+	public long checksum() {
+		long checksum = events.size();
+		for (Event event : events) {
+			checksum = GameRandom.mix64(checksum * 31 + event.getName().hashCode());
+		}
+		for (Choice choice : choices) {
+			checksum = GameRandom.mix64(checksum * 31 + choice.getLabel().hashCode());
+		}
+		return checksum;
+	}
+}
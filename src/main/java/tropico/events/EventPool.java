@@ -0,0 +1,322 @@
+package tropico.events;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Objects;
+
+import tropico.Scenario;
+import tropico.Season;
+import tropico.utils.GameRandom;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
+
+/**
+ * This class contains the events of a scenario that can be drawn, sorted by
+ * season. An event is identified by its number in the scenario, the scenario
+ * itself being shared by all the games.
+ * 
+ * For each season, the numbers of the events of this season are stored in an
+ * array : the available events first, then the used ones. Drawing an event
+ * swaps it with the last available event of each of its seasons, so a draw
+ * doesn't depend on the number of events and doesn't allocate anything.
+ * 
+ * A pool can be forked : the fork shares the arrays of the pool until one of
+ * them draws an event, which copies the arrays first (copy-on-write).
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class EventPool implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The scenario of the events, never modified.
+	 */
+	private final Scenario scenario;
+
+	/**
+	 * For each season, the numbers of its events, the available ones first.
+	 */
+	private int[][] buckets;
+
+	/**
+	 * For each season, the position of each event in the bucket of the season, -1
+	 * if the event can't occur during it.
+	 */
+	private int[][] positions;
+
+	/**
+	 * For each season, the number of available events.
+	 */
+	private final int[] available;
+
+	/**
+	 * True if the arrays buckets and positions may be shared with a fork, in which
+	 * case they are copied before being changed.
+	 */
+	private boolean shared;
+
+	/**
+	 * <b>EventPool's constructor</b>
+	 * 
+	 * Creates a pool where all the events of the scenario that can be drawn are
+	 * available.
+	 * 
+	 * @param scenario The scenario.
+	 */
+	public EventPool(Scenario scenario) {
+		this.scenario = Objects.requireNonNull(scenario);
+		int seasonCount = Season.values().length;
+
+		buckets = new int[seasonCount][];
+		positions = new int[seasonCount][scenario.getEventCount()];
+		available = new int[seasonCount];
+		for (int s = 0; s < seasonCount; s++) {
+			int size = 0;
+			for (int i = 0; i < scenario.getRootCount(); i++) {
+				size += hasSeason(scenario.getRoot(i), s) ? 1 : 0;
+			}
+
+			buckets[s] = new int[size];
+			Arrays.fill(positions[s], -1);
+			for (int i = 0; i < scenario.getRootCount(); i++) {
+				int event = scenario.getRoot(i);
+				if (hasSeason(event, s)) {
+					positions[s][event] = available[s];
+					buckets[s][available[s]++] = event;
+				}
+			}
+		}
+	}
+
+	/**
+	 * <b>EventPool's second constructor</b>
+	 * 
+	 * Creates a fork of a pool, sharing its arrays.
+	 * 
+	 * @param pool The pool to fork.
+	 */
+	private EventPool(EventPool pool) {
+		scenario = pool.scenario;
+		buckets = pool.buckets;
+		positions = pool.positions;
+		available = pool.available.clone();
+		shared = true;
+		pool.shared = true;
+	}
+
+	/**
+	 * Creates a fork of this pool. Both pools can then draw their events without
+	 * changing the other one.
+	 * 
+	 * @return Returns the fork.
+	 */
+	public EventPool fork() {
+		return new EventPool(this);
+	}
+
+	/**
+	 * Draws an available event of the season, and marks it as used for all its
+	 * seasons. When all the events of the season were used, they become available
+	 * again.
+	 * 
+	 * @param season The current season.
+	 * @param random The random generator used for the draw.
+	 * @return Returns the number of the drawn event.
+	 */
+	public int draw(Season season, GameRandom random) {
+		int drawable = getDrawable(season);
+		if (drawable == 0) {
+			throw new IllegalStateException("There is no event for the season " + season + ".");
+		}
+		return draw(season, random.nextInt(drawable));
+	}
+
+	/**
+	 * Draws the event at an index among the drawable events of the season, and
+	 * marks it as used for all its seasons. When all the events of the season were
+	 * used, they become available again first. Each index has the same probability
+	 * to be drawn by draw(season, random).
+	 * 
+	 * @param season The current season.
+	 * @param index  The index of the event, between 0 and getDrawable(season).
+	 * @return Returns the number of the drawn event.
+	 */
+	public int draw(Season season, int index) {
+		int s = Objects.requireNonNull(season).ordinal();
+		if (available[s] == 0) {
+			recycle(s);
+		}
+		if (index < 0 || index >= available[s]) {
+			throw new IndexOutOfBoundsException(
+					"There is no drawable event " + index + " for the season " + season + ".");
+		}
+
+		int event = buckets[s][index];
+		copyIfShared();
+		markUsed(event);
+		return event;
+	}
+
+	/**
+	 * Returns the number of events a draw can return for a season : the available
+	 * events, or all the events of the season if they were all used.
+	 * 
+	 * @param season The season.
+	 * @return Returns the number of events that can be drawn.
+	 */
+	public int getDrawable(Season season) {
+		int s = season.ordinal();
+		return available[s] == 0 ? buckets[s].length : available[s];
+	}
+
+	/**
+	 * Writes the state of the pool into a save : the order of the events of each
+	 * season, and how many of them are available. The events themselves are part
+	 * of the scenario.
+	 * 
+	 * @param out The writer of the save.
+	 */
+	public void write(SaveWriter out) {
+		for (int s = 0; s < buckets.length; s++) {
+			out.writeInt(available[s]);
+			for (int event : buckets[s]) {
+				out.writeInt(event);
+			}
+		}
+	}
+
+	/**
+	 * Reads the state of the pool written by write, replacing the current one. The
+	 * pool must have been created with the same scenario.
+	 * 
+	 * @param in The reader of the save.
+	 * @throws IOException Throws an IOException if the save is truncated or
+	 *                     doesn't match the events of the pool.
+	 */
+	public void read(SaveReader in) throws IOException {
+		copyIfShared();
+		for (int s = 0; s < buckets.length; s++) {
+			int[] bucket = buckets[s];
+			available[s] = in.readInt(0, bucket.length);
+			Arrays.fill(positions[s], -1);
+			for (int i = 0; i < bucket.length; i++) {
+				int event = in.readInt(0, scenario.getEventCount() - 1);
+				if (!scenario.isRoot(event) || !hasSeason(event, s) || positions[s][event] != -1) {
+					throw new IOException("The save is corrupted : the events of a season are wrong.");
+				}
+				bucket[i] = event;
+				positions[s][event] = i;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of available events for a season.
+	 * 
+	 * @param season The season.
+	 * @return Returns the number of events that can be drawn without recycling.
+	 */
+	public int getAvailable(Season season) {
+		return available[season.ordinal()];
+	}
+
+	/**
+	 * Makes all the used events of a season available again, for all their
+	 * seasons.
+	 * 
+	 * @param s The ordinal of the season.
+	 */
+	private void recycle(int s) {
+		copyIfShared();
+		int[] bucket = buckets[s];
+		while (available[s] < bucket.length) {
+			markAvailable(bucket[available[s]]);
+		}
+	}
+
+	/**
+	 * Copies the arrays buckets and positions if they may be shared with a fork.
+	 */
+	private void copyIfShared() {
+		if (shared) {
+			buckets = copy(buckets);
+			positions = copy(positions);
+			shared = false;
+		}
+	}
+
+	/**
+	 * Copies an array of arrays.
+	 * 
+	 * @param arrays The arrays to copy.
+	 * @return Returns a copy of the arrays and of their content.
+	 */
+	private static int[][] copy(int[][] arrays) {
+		int[][] copy = new int[arrays.length][];
+		for (int i = 0; i < arrays.length; i++) {
+			copy[i] = arrays[i].clone();
+		}
+		return copy;
+	}
+
+	/**
+	 * Moves an event after the available events of each of its seasons.
+	 * 
+	 * @param event The number of the event.
+	 */
+	private void markUsed(int event) {
+		for (int s = 0; s < available.length; s++) {
+			if (hasSeason(event, s)) {
+				swap(s, positions[s][event], --available[s]);
+			}
+		}
+	}
+
+	/**
+	 * Moves an event with the available events of each of its seasons, if it's
+	 * not already there.
+	 * 
+	 * @param event The number of the event.
+	 */
+	private void markAvailable(int event) {
+		for (int s = 0; s < available.length; s++) {
+			if (hasSeason(event, s) && positions[s][event] >= available[s]) {
+				swap(s, positions[s][event], available[s]++);
+			}
+		}
+	}
+
+	/**
+	 * Swaps two events in the bucket of a season.
+	 * 
+	 * @param s The ordinal of the season.
+	 * @param i The position of the first event.
+	 * @param j The position of the second event.
+	 */
+	private void swap(int s, int i, int j) {
+		int[] bucket = buckets[s];
+		int a = bucket[i];
+		int b = bucket[j];
+		bucket[i] = b;
+		bucket[j] = a;
+		positions[s][a] = j;
+		positions[s][b] = i;
+	}
+
+	/**
+	 * Checks if an event can occur during a season.
+	 * 
+	 * @param event The number of the event.
+	 * @param s     The ordinal of the season.
+	 * @return Returns true if the event can occur during the season.
+	 */
+	private boolean hasSeason(int event, int s) {
+		return scenario.hasSeason(event, s);
+	}
+}
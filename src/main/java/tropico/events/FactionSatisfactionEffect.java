@@ -1,6 +1,7 @@
 package tropico.events;
 
 import tropico.Player;
+import tropico.utils.SaveWriter;
 
 public class FactionSatisfactionEffect extends AbstractEffect {
 
@@ -9,6 +10,11 @@ public class FactionSatisfactionEffect extends AbstractEffect {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The tag of this class in a compiled scenario
+	 */
+	static final int TAG = 0;
+
 	/**
 	 * The factionName of the Effect
 	 */
@@ -39,7 +45,28 @@ public class FactionSatisfactionEffect extends AbstractEffect {
 	 */
 	@Override
 	public void applyEffect(Player p) {
-		p.getFactionFromName(factionName).addSatisfaction(super.use());
+		p.addSatisfaction(p.getFactionIndex(factionName), super.use());
+	}
+
+	/**
+	 * Adds the effect to the compiled effects of a choice.
+	 *
+	 * @param builder The builder of the compiled effects.
+	 */
+	@Override
+	public void compile(ChoiceDelta.Builder builder) {
+		builder.addSatisfaction(factionName, super.use());
 	}
 
+	/**
+	 * Writes the effect into a compiled scenario.
+	 *
+	 * @param out The writer of the compiled scenario
+	 */
+	@Override
+	public void write(SaveWriter out) {
+		out.writeByte(TAG);
+		out.writeString(factionName);
+		out.writeInt(getValue());
+	}
 }
@@ -1,6 +1,8 @@
 package tropico.events;
 
+import tropico.Difficulty;
 import tropico.Player;
+import tropico.utils.SaveWriter;
 
 public class OtherEffect extends AbstractEffect {
 
@@ -9,6 +11,11 @@ public class OtherEffect extends AbstractEffect {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The tag of this class in a compiled scenario
+	 */
+	static final int TAG = 2;
+
 	/**
 	 * Resources types available
 	 */
@@ -82,4 +89,38 @@ public class OtherEffect extends AbstractEffect {
 
 	}
 
+	/**
+	 * Returns the effect as it is applied in a game of a difficulty : the losses
+	 * are scaled by the difficulty.
+	 *
+	 * @param difficulty The difficulty of the game
+	 * @return This effect, or a copy with the scaled value
+	 */
+	@Override
+	public Effect forDifficulty(Difficulty difficulty) {
+		int value = difficulty.scaleLoss(getValue());
+		return value == getValue() ? this : new OtherEffect(type, value);
+	}
+
+	/**
+	 * Adds the effect to the compiled effects of a choice.
+	 *
+	 * @param builder The builder of the compiled effects.
+	 */
+	@Override
+	public void compile(ChoiceDelta.Builder builder) {
+		builder.addResource(type, super.use());
+	}
+
+	/**
+	 * Writes the effect into a compiled scenario.
+	 *
+	 * @param out The writer of the compiled scenario
+	 */
+	@Override
+	public void write(SaveWriter out) {
+		out.writeByte(TAG);
+		out.writeInt(type.ordinal());
+		out.writeInt(getValue());
+	}
 }
@@ -0,0 +1,260 @@
+package tropico.events;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import tropico.Scenario;
+import tropico.Season;
+import tropico.utils.SaveReader;
+import tropico.utils.SaveWriter;
+
+/**
+ * This class contains the events that will be available after certain choices,
+ * in a queue for each season. The events of a season come out in the order
+ * they were added. The events are held as their numbers in the scenario.
+ * 
+ * An event with several seasons is in the queue of each of them. When it comes
+ * out of one queue, it is only marked as taken in the others, and skipped when
+ * it reaches their front, so adding and taking an event don't depend on the
+ * number of pending events.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class PendingEventQueue implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * A pending event, shared by the queues of its seasons.
+	 */
+	private static class Entry implements Serializable {
+
+		/**
+		 * Necessary field to avoid warning while implementing Serializable.
+		 */
+		private static final long serialVersionUID = 1L;
+
+		/**
+		 * The number of the pending event in the scenario.
+		 */
+		private final int event;
+
+		/**
+		 * True once the event came out of one of the queues.
+		 */
+		private boolean taken;
+
+		/**
+		 * <b>Entry's constructor</b>
+		 * 
+		 * @param event The number of the pending event.
+		 */
+		private Entry(int event) {
+			this.event = event;
+		}
+	}
+
+	/**
+	 * The queue of each season, indexed by the ordinal of the seasons.
+	 */
+	private final ArrayDeque<Entry>[] queues;
+
+	/**
+	 * The number of events not taken yet.
+	 */
+	private int size;
+
+	/**
+	 * <b>PendingEventQueue's constructor</b>
+	 * 
+	 * Creates an empty queue.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public PendingEventQueue() {
+		queues = new ArrayDeque[Season.values().length];
+		for (int i = 0; i < queues.length; i++) {
+			queues[i] = new ArrayDeque<>();
+		}
+	}
+
+	/**
+	 * <b>PendingEventQueue's second constructor</b>
+	 * 
+	 * Creates a copy of a queue. An event shared by several queues is still shared
+	 * in the copy.
+	 * 
+	 * @param queue The queue to copy.
+	 */
+	private PendingEventQueue(PendingEventQueue queue) {
+		this();
+		IdentityHashMap<Entry, Entry> copies = new IdentityHashMap<>();
+		for (int i = 0; i < queues.length; i++) {
+			for (Entry entry : queue.queues[i]) {
+				if (!entry.taken) {
+					queues[i].addLast(copies.computeIfAbsent(entry, e -> new Entry(e.event)));
+				}
+			}
+		}
+		size = queue.size;
+	}
+
+	/**
+	 * Creates a copy of this queue. The events themselves are shared, since they
+	 * never change.
+	 * 
+	 * @return Returns the copy.
+	 */
+	public PendingEventQueue copy() {
+		return new PendingEventQueue(this);
+	}
+
+	/**
+	 * Writes the pending events into a save, as their numbers in the scenario. An
+	 * event pending for several seasons is written once, then referred to by the
+	 * queues of its seasons.
+	 * 
+	 * @param out The writer of the save.
+	 */
+	public void write(SaveWriter out) {
+		Map<Entry, Integer> entries = new IdentityHashMap<>();
+		List<Entry> order = new ArrayList<>();
+		for (ArrayDeque<Entry> queue : queues) {
+			for (Entry entry : queue) {
+				if (!entry.taken && entries.putIfAbsent(entry, order.size()) == null) {
+					order.add(entry);
+				}
+			}
+		}
+
+		out.writeInt(order.size());
+		for (Entry entry : order) {
+			out.writeInt(entry.event);
+		}
+		for (ArrayDeque<Entry> queue : queues) {
+			int count = 0;
+			for (Entry entry : queue) {
+				count += entry.taken ? 0 : 1;
+			}
+			out.writeInt(count);
+			for (Entry entry : queue) {
+				if (!entry.taken) {
+					out.writeInt(entries.get(entry));
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the pending events written by write, and adds them to this queue,
+	 * which must be empty.
+	 * 
+	 * @param in       The reader of the save.
+	 * @param scenario The scenario of the events.
+	 * @throws IOException Throws an IOException if the save is truncated or
+	 *                     corrupted.
+	 */
+	public void read(SaveReader in, Scenario scenario) throws IOException {
+		if (!isEmpty()) {
+			throw new IllegalStateException("The queue must be empty.");
+		}
+		Entry[] entries = new Entry[in.readInt(0, Integer.MAX_VALUE)];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = new Entry(in.readInt(0, scenario.getEventCount() - 1));
+		}
+		for (ArrayDeque<Entry> queue : queues) {
+			int count = in.readInt(0, entries.length);
+			for (int i = 0; i < count; i++) {
+				queue.addLast(entries[in.readInt(0, entries.length - 1)]);
+			}
+		}
+		size = entries.length;
+	}
+
+	/**
+	 * Adds an event at the end of the queues of its seasons.
+	 * 
+	 * @param event The event to add.
+	 */
+	public void add(Event event) {
+		if (event.getId() == -1) {
+			throw new IllegalArgumentException("The event " + event.getName() + " isn't part of a scenario.");
+		}
+		Entry entry = new Entry(event.getId());
+		boolean added = false;
+		for (Season season : event.getSeasons()) {
+			ArrayDeque<Entry> queue = queues[season.ordinal()];
+			// The seasons of an event may be repeated
+			if (queue.peekLast() != entry) {
+				queue.addLast(entry);
+				added = true;
+			}
+		}
+		if (added) {
+			size++;
+		}
+	}
+
+	/**
+	 * Takes the first pending event of a season.
+	 * 
+	 * @param season The current season.
+	 * @return Returns the number of the first event of the season, or -1 if there
+	 *         is none.
+	 */
+	public int poll(Season season) {
+		ArrayDeque<Entry> queue = queues[season.ordinal()];
+		Entry entry;
+		while ((entry = queue.pollFirst()) != null) {
+			if (!entry.taken) {
+				entry.taken = true;
+				size--;
+				return entry.event;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the first pending event of a season without taking it.
+	 * 
+	 * @param season The current season.
+	 * @return Returns the number of the first event of the season, or -1 if there
+	 *         is none.
+	 */
+	public int peek(Season season) {
+		ArrayDeque<Entry> queue = queues[season.ordinal()];
+		Entry entry;
+		// The events taken for another season are removed on the way
+		while ((entry = queue.peekFirst()) != null && entry.taken) {
+			queue.pollFirst();
+		}
+		return entry == null ? -1 : entry.event;
+	}
+
+	/**
+	 * Getter for the field size.
+	 * 
+	 * @return Returns the number of pending events.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Checks if there is no pending event.
+	 * 
+	 * @return Returns true if there is no pending event, false otherwise.
+	 */
+	public boolean isEmpty() {
+		return size == 0;
+	}
+}
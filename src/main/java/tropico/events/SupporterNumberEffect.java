@@ -1,6 +1,7 @@
 package tropico.events;
 
 import tropico.Player;
+import tropico.utils.SaveWriter;
 
 public class SupporterNumberEffect extends AbstractEffect {
 
@@ -9,6 +10,11 @@ public class SupporterNumberEffect extends AbstractEffect {
 	 */
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The tag of this class in a compiled scenario
+	 */
+	static final int TAG = 1;
+
 	/**
 	 * The name of the faction
 	 */
@@ -49,11 +55,33 @@ public class SupporterNumberEffect extends AbstractEffect {
 	@Override
 	public void applyEffect(Player p) {
 		if (percentage) {
-			p.getFactionFromName(factionName).addSupporterPercentage(super.use());
+			p.addSupporterPercentage(p.getFactionIndex(factionName), super.use());
 		} else {
-			p.getFactionFromName(factionName).addSupporter(super.use());
+			p.addSupporter(p.getFactionIndex(factionName), super.use());
 		}
 
 	}
 
+	/**
+	 * Adds the effect to the compiled effects of a choice.
+	 *
+	 * @param builder The builder of the compiled effects.
+	 */
+	@Override
+	public void compile(ChoiceDelta.Builder builder) {
+		builder.addSupporter(factionName, super.use(), percentage);
+	}
+
+	/**
+	 * Writes the effect into a compiled scenario.
+	 *
+	 * @param out The writer of the compiled scenario
+	 */
+	@Override
+	public void write(SaveWriter out) {
+		out.writeByte(TAG);
+		out.writeString(factionName);
+		out.writeInt(getValue());
+		out.writeByte(percentage ? 1 : 0);
+	}
 }
@@ -0,0 +1,49 @@
+package tropico.main;
+
+import tropico.Difficulty;
+import tropico.simulation.MonteCarloAnalyzer;
+import tropico.simulation.MonteCarloReport;
+import tropico.simulation.RandomPolicy;
+
+/**
+ * Launches a Monte Carlo analysis of a scenario, playing many games with a
+ * random policy on all the cores, and prints the report.
+ * 
+ * Arguments : gamemode [games] [seed] [threads] [difficulty] [players]
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class Analyzer {
+
+	/**
+	 * The maximum number of turns of an analyzed game.
+	 */
+	private static final int MAX_TURNS = 1000;
+
+	/**
+	 * Reads the arguments, runs the analysis and prints the report.
+	 * 
+	 * @param args The gamemode, then optionally the number of games, the seed, the
+	 *             number of threads, the difficulty and the number of players.
+	 */
+	public static void main(String[] args) {
+		if (args.length == 0) {
+			System.out.println("Usage : Analyzer gamemode [parties] [graine] [threads] [EASY|MEDIUM|HARD] [joueurs]");
+			return;
+		}
+		String gamemode = args[0];
+		int games = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+		long seed = args.length > 2 ? Long.parseLong(args[2]) : 0;
+		int threads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		Difficulty difficulty = args.length > 4 ? Difficulty.valueOf(args[4]) : Difficulty.MEDIUM;
+		int players = args.length > 5 ? Integer.parseInt(args[5]) : 1;
+
+		MonteCarloAnalyzer analyzer = new MonteCarloAnalyzer(gamemode, difficulty, players, MAX_TURNS, RandomPolicy::new);
+
+		long start = System.nanoTime();
+		MonteCarloReport report = analyzer.analyze(games, seed, threads);
+		System.out.println(report);
+		System.out.println("Durée : " + (System.nanoTime() - start) / 1_000_000 + " ms");
+	}
+}
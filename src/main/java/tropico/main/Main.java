@@ -1,24 +1,33 @@
 package tropico.main;
 
-import tropico.DifficultySingleton;
 import tropico.Faction;
 import tropico.GameState;
 import tropico.Player;
-import tropico.DifficultySingleton.Difficulty;
+import tropico.Difficulty;
+import tropico.ai.MctsAdvisor;
+import tropico.ai.Recommendation;
 import tropico.events.Choice;
 import tropico.events.Event;
 import tropico.utils.Backup;
+import tropico.utils.Autosave;
+import tropico.utils.GameRandom;
+import tropico.utils.Journal;
+import tropico.utils.SaveCatalog;
+import tropico.utils.SaveInfo;
 
 import java.io.BufferedReader;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Main class of the project, containing the main loop, the scanner and
@@ -34,6 +43,61 @@ public class Main {
 	 */
 	private static final int MAX_PLAYERS = 2;
 
+	/**
+	 * The time the advisor takes to find the best choice.
+	 */
+	private static final Duration ADVICE_BUDGET = Duration.ofSeconds(1);
+
+	/**
+	 * The number of years the advisor looks ahead.
+	 */
+	private static final int ADVICE_YEARS = 2;
+
+	/**
+	 * The number of turns between two checkpoints of the journal.
+	 */
+	private static final int JOURNAL_CHECKPOINTS = 20;
+
+	/**
+	 * Saves the game in the background at the end of each turn if the player
+	 * chose it, and when the player asks for it.
+	 */
+	private static Autosave autosave;
+
+	/**
+	 * True if the game is saved at the end of each turn, false if it is only saved
+	 * when the player asks for it.
+	 */
+	private static boolean automaticSave;
+
+	/**
+	 * The saves of all the gamemodes.
+	 */
+	private static final SaveCatalog CATALOG = new SaveCatalog(Path.of("src/main/resources/backup"));
+
+	/**
+	 * The save of the current game : the chosen save if the game was loaded, a
+	 * new slot otherwise.
+	 */
+	private static Path save;
+
+	/**
+	 * The journal recording every turn of the current game, next to its save, to
+	 * be able to replay the game.
+	 */
+	private static Journal journal;
+
+	/**
+	 * The names of the difficulties, in the order of Difficulty.
+	 */
+	private static final List<String> DIFFICULTY_NAMES = List.of("Facile", "Moyen", "Difficile");
+
+	/**
+	 * The format of the dates of the saves.
+	 */
+	private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")
+			.withZone(ZoneId.systemDefault());
+
 	/**
 	 * The main, launching when the application is launched. Calls the mainloop
 	 * after creating the gamestate.
@@ -45,7 +109,17 @@ public class Main {
 
 		try (Scanner sc = new Scanner(System.in)) {
 			GameState game = menu(sc);
-			mainLoop(sc, game);
+
+			System.out.println("Activer la sauvegarde automatique ?\n1) Oui\n2) Non");
+			automaticSave = getInt(sc, 1, 2) == 1;
+
+			try (Autosave a = new Autosave(save)) {
+				autosave = a;
+				mainLoop(sc, game);
+			} finally {
+				game.setJournal(null);
+				journal.close();
+			}
 		}
 	}
 
@@ -56,9 +130,8 @@ public class Main {
 	 * @param sc The scanner used to interact with the user
 	 * @return GameState Returns a new GameState, or recovers the one from the save.
 	 * @throws IOException
-	 * @throws ClassNotFoundException
 	 */
-	public static GameState menu(Scanner sc) throws IOException, ClassNotFoundException {
+	public static GameState menu(Scanner sc) throws IOException {
 		System.out.println("1) Nouvelle partie \n2) Charger partie");
 
 		int input = getInt(sc, -1, 2);
@@ -106,12 +179,10 @@ public class Main {
 			// Now chooses something to do for the event
 			int input = getInt(sc, 1, eventChoices.size()) - 1;
 			Choice choice = eventChoices.get(input);
-			choice.forEach(System.out::println);
+			choice.forEach(effect -> System.out.println(effect.forDifficulty(game.getDifficulty())));
 
 			// Does the choice and checks if the is a following event to this choice
-			Event next = choice.choose(p);
-			if (next != null)
-				game.addPendingEvent(next);
+			game.applyChoice(choice);
 
 			// Checks if the game is over
 			if (game.isGameOver()) {
@@ -125,9 +196,16 @@ public class Main {
 			}
 
 			// goes to next turn
-			game.nextTurn();
-			if (game.getCurrentPlayer() == 0)
-				game.nextSeason();
+			game.endTurn();
+
+			// Saves the new turn without waiting for the disk
+			if (automaticSave) {
+				autosave.save(game);
+				IOException e = autosave.getFailure();
+				if (e != null) {
+					System.out.println("La sauvegarde automatique a échoué : " + e.getMessage());
+				}
+			}
 
 		}
 	}
@@ -145,7 +223,8 @@ public class Main {
 		gameChoices.append("1) Voir les détails des factions\n");
 		gameChoices.append("2) Voir les ressources\n");
 		gameChoices.append("3) Voir l'évennement\n");
-		gameChoices.append("4) Choisir une action");
+		gameChoices.append("4) Choisir une action\n");
+		gameChoices.append("5) Demander conseil");
 
 		choicesStr.add(gameChoices.toString());
 
@@ -210,8 +289,11 @@ public class Main {
 		System.out.println("A combien de joueur voulez-vous jouer ? ");
 		int playerNumbers = getInt(sc, 1, MAX_PLAYERS);
 
-		DifficultySingleton.getDifficulty(lst.get(difficulty - 1));
-		return new GameState(gamemode, playerNumbers);
+		save = CATALOG.getFreePath(gamemode);
+		GameState game = new GameState(gamemode, lst.get(difficulty - 1), playerNumbers);
+		// Every turn is recorded, to be able to replay the game
+		journal = Journal.create(getJournalPath(), game, JOURNAL_CHECKPOINTS);
+		return game;
 	}
 
 	/**
@@ -221,19 +303,75 @@ public class Main {
 	 * @param sc The scanner used to interact with the user.
 	 * @return Returns a GameState from the save file.
 	 * @throws IOException
-	 * @throws ClassNotFoundException
 	 */
-	private static GameState loadGame(Scanner sc) throws IOException, ClassNotFoundException {
+	private static GameState loadGame(Scanner sc) throws IOException {
 		String gamemode = gamemodeChoice(sc);
-		String path = "src/main/resources/backup/" + gamemode + "_save";
+		// Only the headers are read to list the saves
+		List<SaveInfo> saves = CATALOG.list(gamemode);
 
 		// If there is no save file
-		if (!(new File(path)).isFile()) {
+		if (saves.isEmpty()) {
 			System.out.println("Aucune sauvegarde trouvée pour ce mode de jeu.");
 			System.out.println("Retour au menu principal.");
 			return menu(sc);
 		}
-		return (GameState) Backup.loadObject(path);
+
+		StringBuilder choices = new StringBuilder("Choisissez une sauvegarde.\n0) Retour");
+		for (int i = 0; i < saves.size(); i++) {
+			SaveInfo info = saves.get(i);
+			choices.append("\n").append(i + 1).append(") Tour ").append(info.getTurn()).append(" - ")
+					.append(info.getPlayerCount()).append(" joueur(s) - ").append(DIFFICULTY_NAMES.get(info.getDifficulty().ordinal()))
+					.append(" - ").append(DATE_FORMAT.format(info.getTimestamp()));
+		}
+		System.out.println(choices);
+
+		int input = getInt(sc, 0, saves.size());
+		if (input == 0) {
+			return menu(sc);
+		}
+		save = saves.get(input - 1).getPath();
+		return resumeGame(Backup.loadGame(save.toString()));
+	}
+
+	/**
+	 * Resumes the journal of a loaded game. The journal can be ahead of the save
+	 * if the game stopped before its last turns were saved : the game then
+	 * restarts from the last recorded turn. A new journal is started if there is
+	 * none, or if it can't be used.
+	 * 
+	 * @param game The game read from the save.
+	 * @return Returns the game to play, recorded by the journal.
+	 * @throws IOException Throws an IOException if a new journal can't be
+	 *                     written.
+	 */
+	private static GameState resumeGame(GameState game) throws IOException {
+		Path path = getJournalPath();
+		if (Files.exists(path)) {
+			try {
+				Journal.Resumed resumed = Journal.resume(path, JOURNAL_CHECKPOINTS);
+				GameState recorded = resumed.getGame();
+				if (recorded.getGamemode().equals(game.getGamemode()) && recorded.getTurn() >= game.getTurn()) {
+					journal = resumed.getJournal();
+					return recorded;
+				}
+				// The journal of an older game of this slot
+				recorded.setJournal(null);
+				resumed.getJournal().close();
+			} catch (IOException e) {
+				// A journal which can't be replayed is replaced
+			}
+		}
+		journal = Journal.create(path, game, JOURNAL_CHECKPOINTS);
+		return game;
+	}
+
+	/**
+	 * Returns the path of the journal of the current game, next to its save.
+	 * 
+	 * @return Returns the path of the journal.
+	 */
+	private static Path getJournalPath() {
+		return Path.of(save + "_journal");
 	}
 
 	/**
@@ -274,13 +412,18 @@ public class Main {
 	}
 
 	/**
-	 * Saves the game by calling the method saveObject from Backup. A different save
-	 * file for each mode.
+	 * Saves the game with the autosave, and waits for the save to be written.
 	 * 
-	 * @param game The GameState that has to be savec in the file.
+	 * @param game The GameState that has to be saved in the file.
 	 */
-	private static void saveGame(GameState game) throws IOException {
-		Backup.saveObject("src/main/resources/backup/" + game.getGamemode() + "_save", game);
+	private static void saveGame(GameState game) {
+		autosave.save(game);
+		try {
+			autosave.flush();
+			System.out.println("Jeu sauvegardé avec succès.");
+		} catch (IOException e) {
+			System.out.println("La sauvegarde a échoué : " + e.getMessage());
+		}
 	}
 
 	/**
@@ -298,7 +441,7 @@ public class Main {
 		int input;
 
 		System.out.println("\n" + choices);
-		input = getInt(sc, -1, 4);
+		input = getInt(sc, -1, 5);
 		switch (input) {
 		case -1: {
 			// Quits the game
@@ -307,7 +450,6 @@ public class Main {
 		case 0: {
 			// Saves the game
 			saveGame(game);
-			System.out.println("Jeu sauvegardé avec succès.");
 			return actionChoice(sc, game, event, choices);
 		}
 		case 1: {
@@ -332,11 +474,33 @@ public class Main {
 			System.out.println(event);
 			break;
 		}
+		case 5: {
+			// Prints the choices ranked by the advisor
+			advise(game);
+			return actionChoice(sc, game, event, choices);
+		}
 		}
 
 		return false;
 	}
 
+	/**
+	 * Prints the choices of the current event, ranked by a MctsAdvisor using all
+	 * the cores for one second.
+	 * 
+	 * @param game The GameState containing all the informations.
+	 */
+	private static void advise(GameState game) {
+		int horizon = ADVICE_YEARS * 4 * game.getPlayers().size();
+		MctsAdvisor advisor = new MctsAdvisor(horizon, ADVICE_BUDGET, Runtime.getRuntime().availableProcessors(),
+				new GameRandom(ThreadLocalRandom.current().nextLong()));
+
+		System.out.println("Conseils (du meilleur au moins bon choix) :");
+		for (Recommendation recommendation : advisor.recommend(game)) {
+			System.out.println(recommendation);
+		}
+	}
+
 	/**
 	 * This private method is only called during winter, and triggers the end of the
 	 * year, so the player has yet another choice to make.
@@ -395,7 +559,6 @@ public class Main {
 		case 0: {
 			// Saves the game
 			saveGame(game);
-			System.out.println("Jeu sauvegardé avec succès.");
 			return endOfYearChoice(sc, game, choices);
 		}
 		case 1: {
@@ -458,10 +621,12 @@ public class Main {
 
 		// If you can't make a bribe for the faction you chose, you are still in the
 		// same menu.
-		if (!p.bribe(f)) {
+		if (!game.bribe(f)) {
 			System.out.println("Vous n'avez pas assez d'argent pour donner un pot de vin à cette faction !");
 			bribeChoice(sc, game);
+			return;
 		}
+		p.getBribeEffects(f).forEach(System.out::println);
 
 	}
 
@@ -493,7 +658,8 @@ public class Main {
 			return;
 		}
 
-		p.buyFood(input);
+		game.buyFood(input);
+		p.getFoodEffects(input).forEach(System.out::println);
 	}
 
 }
@@ -0,0 +1,40 @@
+package tropico.simulation;
+
+import tropico.Player;
+
+/**
+ * This enum class contains the different ways a game played by a Simulation
+ * can end.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public enum DefeatCause {
+	/**
+	 * A player has no supporter left.
+	 */
+	NO_SUPPORTERS,
+	/**
+	 * The average satisfaction of a player's supporters is below the threshold of
+	 * the difficulty.
+	 */
+	DISSATISFACTION,
+	/**
+	 * Nobody lost before the maximum number of turns.
+	 */
+	NONE;
+
+	/**
+	 * Finds why the player is dead.
+	 * 
+	 * @param player A dead player.
+	 * @return Returns NO_SUPPORTERS if the player has no supporter left,
+	 *         DISSATISFACTION otherwise.
+	 */
+	public static DefeatCause of(Player player) {
+		if (!player.isDead()) {
+			throw new IllegalArgumentException(player.getName() + " is not dead.");
+		}
+		return player.getSupporterTotal() == 0 ? NO_SUPPORTERS : DISSATISFACTION;
+	}
+}
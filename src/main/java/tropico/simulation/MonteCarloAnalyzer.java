@@ -0,0 +1,150 @@
+package tropico.simulation;
+
+import tropico.Difficulty;
+import tropico.GameState;
+import tropico.Player;
+import tropico.utils.GameRandom;
+
+import java.io.FileNotFoundException;
+import java.io.UncheckedIOException;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * This class plays many games of a scenario on all the cores and gathers their
+ * results in a MonteCarloReport.
+ * 
+ * Each game gets its own random generator, the stream of the analysis'
+ * generator at the index of the game, and doesn't share any state with the
+ * other games. The
+ * report is therefore the same for the same seed, whatever the number of
+ * threads.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class MonteCarloAnalyzer {
+
+	/**
+	 * The name of the gamemode to analyze.
+	 */
+	private final String gamemode;
+
+	/**
+	 * The difficulty of each game.
+	 */
+	private final Difficulty difficulty;
+
+	/**
+	 * The number of players of each game.
+	 */
+	private final int playerNumbers;
+
+	/**
+	 * The maximum number of turns of a game.
+	 */
+	private final int maxTurns;
+
+	/**
+	 * Creates the policy of a game from the random generator of this game.
+	 */
+	private final Function<GameRandom, Policy> policyFactory;
+
+	/**
+	 * <b>MonteCarloAnalyzer's constructor</b>
+	 * 
+	 * Creates an analyzer for a gamemode and a difficulty.
+	 * 
+	 * @param gamemode      The name of the gamemode.
+	 * @param difficulty    The difficulty of each game.
+	 * @param playerNumbers The number of players of each game.
+	 * @param maxTurns      The maximum number of turns of a game.
+	 * @param policyFactory Creates the policy of a game from a random generator.
+	 */
+	public MonteCarloAnalyzer(String gamemode, Difficulty difficulty, int playerNumbers, int maxTurns,
+			Function<GameRandom, Policy> policyFactory) {
+		if (playerNumbers <= 0) {
+			throw new IllegalArgumentException("The number of players must be superior to 0.");
+		}
+		if (maxTurns <= 0) {
+			throw new IllegalArgumentException("The maximum number of turns must be superior to 0.");
+		}
+		this.gamemode = Objects.requireNonNull(gamemode);
+		this.difficulty = Objects.requireNonNull(difficulty);
+		this.playerNumbers = playerNumbers;
+		this.maxTurns = maxTurns;
+		this.policyFactory = Objects.requireNonNull(policyFactory);
+	}
+
+	/**
+	 * Plays the games on the common fork/join pool.
+	 * 
+	 * @param games The number of games to play.
+	 * @param seed  The seed of the analysis.
+	 * @return Returns the report of all the games.
+	 */
+	public MonteCarloReport analyze(int games, long seed) {
+		if (games < 0) {
+			throw new IllegalArgumentException("The number of games must be superior or equal to 0.");
+		}
+		GameRandom root = new GameRandom(seed);
+		return IntStream.range(0, games).parallel().collect(() -> new MonteCarloReport(maxTurns),
+				(report, i) -> play(report, root.split(i)), MonteCarloReport::merge);
+	}
+
+	/**
+	 * Plays the games on a fork/join pool of the given number of threads.
+	 * 
+	 * @param games   The number of games to play.
+	 * @param seed    The seed of the analysis.
+	 * @param threads The number of threads.
+	 * @return Returns the report of all the games.
+	 */
+	public MonteCarloReport analyze(int games, long seed, int threads) {
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			return pool.submit(() -> analyze(games, seed)).get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("The analysis was interrupted.", e);
+		} catch (ExecutionException e) {
+			throw new IllegalStateException(e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	/**
+	 * Plays one game and adds its result to the report.
+	 * 
+	 * @param report The report of the games played by this thread.
+	 * @param seeds  The random generator of the game.
+	 */
+	private void play(MonteCarloReport report, GameRandom seeds) {
+		GameState game;
+		try {
+			game = new GameState(gamemode, difficulty, playerNumbers, seeds.nextLong());
+		} catch (FileNotFoundException e) {
+			throw new UncheckedIOException(e);
+		}
+
+		Simulation simulation = new Simulation(policyFactory.apply(seeds.split()), maxTurns);
+		int turnsPerYear = 4 * playerNumbers;
+		SimulationResult result = simulation.run(game,
+				(g, p) -> report.addYear((g.getTurn() - 1) / turnsPerYear, p));
+
+		DefeatCause cause = DefeatCause.NONE;
+		if (result.isDefeat()) {
+			for (Player player : game.getPlayers()) {
+				if (player.isDead()) {
+					cause = DefeatCause.of(player);
+					break;
+				}
+			}
+		}
+		report.addGame(result.getTurns(), cause);
+	}
+}
@@ -0,0 +1,260 @@
+package tropico.simulation;
+
+import tropico.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * This class gathers the results of many games of the same scenario, including
+ * :
+ * <ul>
+ * <li>The distribution of the number of turns held</li>
+ * <li>The causes of defeat</li>
+ * <li>The average satisfaction and supporters of each faction at the end of
+ * each year</li>
+ * </ul>
+ * 
+ * Every value is a sum of integers, so the report doesn't depend on the order
+ * in which the games are added or merged.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class MonteCarloReport {
+
+	/**
+	 * The number of games ending after each number of turns, indexed by the
+	 * number of turns.
+	 */
+	private final long[] survival;
+
+	/**
+	 * The number of games ending with each cause, indexed by the ordinal of the
+	 * causes.
+	 */
+	private final long[] causes = new long[DefeatCause.values().length];
+
+	/**
+	 * The names of the factions, in the order of the scenario.
+	 */
+	private final List<String> factionNames = new ArrayList<>();
+
+	/**
+	 * For each year, the sums of the satisfaction and of the supporters of each
+	 * faction, followed by the number of players who ended this year.
+	 */
+	private final List<long[]> years = new ArrayList<>();
+
+	/**
+	 * The number of games in this report.
+	 */
+	private long games;
+
+	/**
+	 * <b>MonteCarloReport's constructor</b>
+	 * 
+	 * Creates an empty report for games lasting at most maxTurns turns.
+	 * 
+	 * @param maxTurns The maximum number of turns of a game.
+	 */
+	public MonteCarloReport(int maxTurns) {
+		survival = new long[maxTurns + 1];
+	}
+
+	/**
+	 * Adds the result of a game to the report.
+	 * 
+	 * @param turns The number of turns held.
+	 * @param cause The cause of the end of the game.
+	 */
+	void addGame(int turns, DefeatCause cause) {
+		survival[turns]++;
+		causes[cause.ordinal()]++;
+		games++;
+	}
+
+	/**
+	 * Adds the state of the factions of a player at the end of a year.
+	 * 
+	 * @param year   The year, starting at 0.
+	 * @param player The player who ended the year.
+	 */
+	void addYear(int year, Player player) {
+		int factions = player.getFactionCount();
+		if (factionNames.isEmpty()) {
+			for (int i = 0; i < factions; i++) {
+				factionNames.add(player.getFactionSet().getName(i));
+			}
+		}
+		while (years.size() <= year) {
+			years.add(new long[factionNames.size() * 2 + 1]);
+		}
+
+		long[] sums = years.get(year);
+		for (int i = 0; i < factions; i++) {
+			sums[2 * i] += player.getSatisfaction(i);
+			sums[2 * i + 1] += player.getSupporter(i);
+		}
+		sums[sums.length - 1]++;
+	}
+
+	/**
+	 * Merges another report in this one.
+	 * 
+	 * @param other The report to merge, with the same maximum number of turns.
+	 */
+	void merge(MonteCarloReport other) {
+		for (int i = 0; i < survival.length; i++) {
+			survival[i] += other.survival[i];
+		}
+		for (int i = 0; i < causes.length; i++) {
+			causes[i] += other.causes[i];
+		}
+		if (factionNames.isEmpty()) {
+			factionNames.addAll(other.factionNames);
+		}
+		for (int year = 0; year < other.years.size(); year++) {
+			if (years.size() <= year) {
+				years.add(new long[factionNames.size() * 2 + 1]);
+			}
+			long[] sums = years.get(year);
+			long[] otherSums = other.years.get(year);
+			for (int i = 0; i < sums.length; i++) {
+				sums[i] += otherSums[i];
+			}
+		}
+		games += other.games;
+	}
+
+	/**
+	 * Getter for the field games.
+	 * 
+	 * @return Returns the number of games in the report.
+	 */
+	public long getGames() {
+		return games;
+	}
+
+	/**
+	 * This method returns the distribution of the number of turns held.
+	 * 
+	 * @return Returns an array containing the number of games for each number of
+	 *         turns.
+	 */
+	public long[] getSurvivalDistribution() {
+		return Arrays.copyOf(survival, survival.length);
+	}
+
+	/**
+	 * Calculates the average number of turns held.
+	 * 
+	 * @return Returns the average number of turns.
+	 */
+	public double getAverageSurvival() {
+		long sum = 0;
+		for (int turns = 0; turns < survival.length; turns++) {
+			sum += turns * survival[turns];
+		}
+		return games == 0 ? 0 : (double) sum / games;
+	}
+
+	/**
+	 * Calculates a percentile of the number of turns held.
+	 * 
+	 * @param percentage The percentile wanted, between 0 and 100.
+	 * @return Returns the smallest number of turns held by at least percentage
+	 *         percent of the games.
+	 */
+	public int getSurvivalPercentile(double percentage) {
+		if (percentage < 0 || percentage > 100) {
+			throw new IllegalArgumentException("The percentage must be between 0 and 100.");
+		}
+		long rank = (long) Math.ceil(games * percentage / 100);
+		long count = 0;
+		for (int turns = 0; turns < survival.length; turns++) {
+			count += survival[turns];
+			if (count >= rank && count > 0) {
+				return turns;
+			}
+		}
+		return survival.length - 1;
+	}
+
+	/**
+	 * This method returns the number of games ending with a cause.
+	 * 
+	 * @param cause The cause of the end of the game.
+	 * @return Returns the number of games.
+	 */
+	public long getCount(DefeatCause cause) {
+		return causes[cause.ordinal()];
+	}
+
+	/**
+	 * Getter for the field factionNames.
+	 * 
+	 * @return Returns an unmodifiable copy of the names of the factions.
+	 */
+	public List<String> getFactionNames() {
+		return List.copyOf(factionNames);
+	}
+
+	/**
+	 * This method returns the number of years reached by at least one player.
+	 * 
+	 * @return Returns the number of years.
+	 */
+	public int getYears() {
+		return years.size();
+	}
+
+	/**
+	 * Calculates the average satisfaction of a faction at the end of a year, among
+	 * the players who ended this year.
+	 * 
+	 * @param faction The index of the faction.
+	 * @param year    The year, starting at 0.
+	 * @return Returns the average satisfaction.
+	 */
+	public double getAverageSatisfaction(int faction, int year) {
+		long[] sums = years.get(year);
+		return (double) sums[2 * faction] / sums[sums.length - 1];
+	}
+
+	/**
+	 * Calculates the average number of supporters of a faction at the end of a
+	 * year, among the players who ended this year.
+	 * 
+	 * @param faction The index of the faction.
+	 * @param year    The year, starting at 0.
+	 * @return Returns the average number of supporters.
+	 */
+	public double getAverageSupporters(int faction, int year) {
+		long[] sums = years.get(year);
+		return (double) sums[2 * faction + 1] / sums[sums.length - 1];
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder str = new StringBuilder();
+		str.append("Parties jouées : ").append(games).append("\n");
+		str.append(String.format("Tours tenus : moyenne %.2f / médiane %d / 90e centile %d%n", getAverageSurvival(),
+				getSurvivalPercentile(50), getSurvivalPercentile(90)));
+		str.append("Défaites sans partisans : ").append(getCount(DefeatCause.NO_SUPPORTERS)).append("\n");
+		str.append("Défaites par insatisfaction : ").append(getCount(DefeatCause.DISSATISFACTION)).append("\n");
+		str.append("Parties non terminées : ").append(getCount(DefeatCause.NONE)).append("\n");
+
+		for (int year = 0; year < years.size(); year++) {
+			str.append("Année ").append(year + 1).append(" (").append(years.get(year)[factionNames.size() * 2])
+					.append(" joueurs) :");
+			for (int i = 0; i < factionNames.size(); i++) {
+				str.append(String.format(" %s %.1f%% / %.1f", factionNames.get(i), getAverageSatisfaction(i, year),
+						getAverageSupporters(i, year)));
+			}
+			str.append("\n");
+		}
+		return str.toString();
+	}
+}
@@ -0,0 +1,55 @@
+package tropico.simulation;
+
+import tropico.Faction;
+import tropico.GameState;
+import tropico.events.Event;
+
+import java.util.List;
+
+/**
+ * This interface represents the decisions taken by a player without any
+ * interaction with the user. It is used by the Simulation class to play whole
+ * games, including :
+ * <ul>
+ * <li>The choice made for each event</li>
+ * <li>The bribes made at the end of the year</li>
+ * <li>The food bought at the end of the year</li>
+ * </ul>
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public interface Policy {
+
+	/**
+	 * Chooses one of the choices of the event for the current player.
+	 * 
+	 * @param game  The GameState of the game being played.
+	 * @param event The current event.
+	 * @return Returns the index of the chosen choice in the event's choices.
+	 */
+	int choose(GameState game, Event event);
+
+	/**
+	 * Chooses the factions the current player bribes at the end of the year. The
+	 * bribes are made in the order of the list, the ones the player can't afford
+	 * are skipped.
+	 * 
+	 * @param game The GameState of the game being played.
+	 * @return Returns the list of factions to bribe, empty by default.
+	 */
+	default List<Faction> bribes(GameState game) {
+		return List.of();
+	}
+
+	/**
+	 * Chooses the number of food units the current player buys at the end of the
+	 * year. The number is lowered to what the player can afford.
+	 * 
+	 * @param game The GameState of the game being played.
+	 * @return Returns the number of food units to buy, 0 by default.
+	 */
+	default int foodToBuy(GameState game) {
+		return 0;
+	}
+}
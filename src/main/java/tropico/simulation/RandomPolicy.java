@@ -0,0 +1,44 @@
+package tropico.simulation;
+
+import tropico.GameState;
+import tropico.events.Event;
+import tropico.utils.GameRandom;
+
+import java.util.Objects;
+
+/**
+ * A Policy choosing a random choice for each event. At the end of the year, it
+ * buys the food missing to feed all the supporters if it can, and never makes
+ * bribes. It serves as a baseline to test the balance of a scenario.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class RandomPolicy implements Policy {
+
+	/**
+	 * The random generator used to choose the choices.
+	 */
+	private final GameRandom random;
+
+	/**
+	 * <b>RandomPolicy's constructor</b>
+	 * 
+	 * Creates a policy using the random generator in parameter.
+	 * 
+	 * @param random The random generator used to take the decisions.
+	 */
+	public RandomPolicy(GameRandom random) {
+		this.random = Objects.requireNonNull(random);
+	}
+
+	@Override
+	public int choose(GameState game, Event event) {
+		return random.nextInt(event.getChoices().size());
+	}
+
+	@Override
+	public int foodToBuy(GameState game) {
+		return game.getPlayer().getFoodShortage();
+	}
+}
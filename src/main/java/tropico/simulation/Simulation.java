@@ -0,0 +1,149 @@
+package tropico.simulation;
+
+import tropico.Faction;
+import tropico.GameState;
+import tropico.Player;
+import tropico.events.Choice;
+import tropico.events.Event;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class plays games without any console interaction. The decisions are
+ * taken by a Policy, and the rules are the ones of the GameState, so that a
+ * game played by a Simulation follows exactly the same steps as a game played
+ * in the console.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class Simulation {
+
+	/**
+	 * A listener doing nothing, used when nobody follows the game.
+	 */
+	private static final YearListener NO_LISTENER = (game, player) -> {
+	};
+
+	/**
+	 * The policy taking the decisions of all the players.
+	 */
+	private final Policy policy;
+
+	/**
+	 * The maximum number of turns of a game, so that a game can't last forever.
+	 */
+	private final int maxTurns;
+
+	/**
+	 * <b>Simulation's constructor</b>
+	 * 
+	 * Creates a simulation using a policy and the maximum number of turns of a
+	 * game.
+	 * 
+	 * @param policy   The policy taking the decisions of the players.
+	 * @param maxTurns The maximum number of turns, must be positive.
+	 */
+	public Simulation(Policy policy, int maxTurns) {
+		if (maxTurns <= 0) {
+			throw new IllegalArgumentException("The maximum number of turns must be superior to 0.");
+		}
+		this.policy = Objects.requireNonNull(policy);
+		this.maxTurns = maxTurns;
+	}
+
+	/**
+	 * Plays the game until a player loses or the maximum number of turns is
+	 * reached.
+	 * 
+	 * @param game The GameState of the game to play, modified by the simulation.
+	 * @return Returns the result of the game.
+	 */
+	public SimulationResult run(GameState game) {
+		return run(game, NO_LISTENER);
+	}
+
+	/**
+	 * Plays the game until a player loses or the maximum number of turns is
+	 * reached, and calls the listener each time a player ends a year.
+	 * 
+	 * @param game     The GameState of the game to play, modified by the
+	 *                 simulation.
+	 * @param listener The listener called at the end of each year.
+	 * @return Returns the result of the game.
+	 */
+	public SimulationResult run(GameState game, YearListener listener) {
+		Objects.requireNonNull(game);
+		Objects.requireNonNull(listener);
+
+		while (game.getTurn() <= maxTurns) {
+			// Defeat after the choice of the event
+			if (playChoice(game)) {
+				return new SimulationResult(game, game.getTurn() - 1, true);
+			}
+			// Defeat at the end of the year
+			if (game.isEndOfYear() && playEndOfYear(game, listener)) {
+				return new SimulationResult(game, game.getTurn(), true);
+			}
+			game.endTurn();
+		}
+		return new SimulationResult(game, maxTurns, false);
+	}
+
+	/**
+	 * Plays one complete turn of the current player, the same way as the main
+	 * loop does.
+	 * 
+	 * @param game The GameState of the game to play.
+	 * @return Returns true if the game is over, false otherwise.
+	 */
+	public boolean playTurn(GameState game) {
+		if (playChoice(game) || (game.isEndOfYear() && playEndOfYear(game, NO_LISTENER))) {
+			return true;
+		}
+		game.endTurn();
+		return false;
+	}
+
+	/**
+	 * Makes the policy choose a choice for the current event and applies it.
+	 * 
+	 * @param game The GameState of the game to play.
+	 * @return Returns true if the game is over after the choice, false otherwise.
+	 */
+	private boolean playChoice(GameState game) {
+		Event event = game.getCurrentEvent();
+		List<Choice> choices = event.getChoices();
+		Choice choice = choices.get(policy.choose(game, event));
+
+		game.applyChoice(choice);
+		return game.isGameOver();
+	}
+
+	/**
+	 * Makes the bribes and buys the food chosen by the policy, then generates the
+	 * resources of the year.
+	 * 
+	 * @param game     The GameState of the game to play.
+	 * @param listener The listener called once the resources are generated.
+	 * @return Returns true if the game is over after the end of the year, false
+	 *         otherwise.
+	 */
+	private boolean playEndOfYear(GameState game, YearListener listener) {
+		Player p = game.getPlayer();
+
+		for (Faction faction : policy.bribes(game)) {
+			game.bribe(faction);
+		}
+
+		int food = Math.min(policy.foodToBuy(game), p.getTreasury() / 8);
+		if (food > 0) {
+			game.buyFood(food);
+		}
+
+		p.generateResources();
+		listener.endOfYear(game, p);
+		return game.isGameOver();
+	}
+}
@@ -0,0 +1,83 @@
+package tropico.simulation;
+
+import java.util.Objects;
+
+import tropico.GameState;
+
+/**
+ * This class contains the outcome of a game played by a Simulation, including :
+ * <ul>
+ * <li>The GameState at the end of the game</li>
+ * <li>The number of turns the players held</li>
+ * <li>Whether the game ended with a defeat or because of the turn limit</li>
+ * </ul>
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class SimulationResult {
+
+	/**
+	 * The GameState at the end of the game.
+	 */
+	private final GameState game;
+
+	/**
+	 * The number of turns the players held, computed like the one displayed at the
+	 * end of a game.
+	 */
+	private final int turns;
+
+	/**
+	 * True if the game ended because a player lost, false if the turn limit was
+	 * reached.
+	 */
+	private final boolean defeat;
+
+	/**
+	 * <b>SimulationResult's constructor</b>
+	 * 
+	 * Creates the result of a game.
+	 * 
+	 * @param game   The GameState at the end of the game.
+	 * @param turns  The number of turns held.
+	 * @param defeat True if a player lost.
+	 */
+	public SimulationResult(GameState game, int turns, boolean defeat) {
+		this.game = Objects.requireNonNull(game);
+		this.turns = turns;
+		this.defeat = defeat;
+	}
+
+	/**
+	 * Getter for the field game.
+	 * 
+	 * @return Returns the GameState at the end of the game.
+	 */
+	public GameState getGame() {
+		return game;
+	}
+
+	/**
+	 * Getter for the field turns.
+	 * 
+	 * @return Returns the number of turns held.
+	 */
+	public int getTurns() {
+		return turns;
+	}
+
+	/**
+	 * Getter for the field defeat.
+	 * 
+	 * @return Returns true if the game ended with a defeat, false otherwise.
+	 */
+	public boolean isDefeat() {
+		return defeat;
+	}
+
+	@Override
+	public String toString() {
+		return "SimulationResult{" + "turns=" + turns + ", defeat=" + defeat + '}';
+	}
+}
@@ -0,0 +1,24 @@
+package tropico.simulation;
+
+import tropico.GameState;
+import tropico.Player;
+
+/**
+ * This interface allows to follow a game played by a Simulation. It is called
+ * each time a player ends a year, once the resources of the year are
+ * generated.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+@FunctionalInterface
+public interface YearListener {
+
+	/**
+	 * Called when a player ends a year.
+	 * 
+	 * @param game   The GameState of the game being played.
+	 * @param player The player who ended the year.
+	 */
+	void endOfYear(GameState game, Player player);
+}
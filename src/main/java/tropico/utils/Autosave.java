@@ -0,0 +1,132 @@
+package tropico.utils;
+
+import tropico.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * This class saves a game in the background. The game thread only takes a fork
+ * of the game, which is cheap, and the writer thread of a SaveGroup encodes it
+ * and writes it to the disk. If the game is saved again while the writer is
+ * busy, only the last save is kept : the writer never falls behind the game.
+ * 
+ * The failures of the writer don't stop the game, they are kept until they are
+ * read with getFailure.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class Autosave implements Closeable {
+
+	/**
+	 * The path of the save.
+	 */
+	private final Path path;
+
+	/**
+	 * The group writing the saves.
+	 */
+	private final SaveGroup group;
+
+	/**
+	 * True if the group was created for this autosave only, and must be closed
+	 * with it.
+	 */
+	private final boolean ownGroup;
+
+	/**
+	 * The number of the last save, given by the group.
+	 */
+	private long last;
+
+	/**
+	 * <b>Autosave's constructor</b>
+	 * 
+	 * Creates an autosave with its own writer thread.
+	 * 
+	 * @param path The path of the save.
+	 */
+	public Autosave(Path path) {
+		this(path, new SaveGroup(Duration.ZERO), true);
+	}
+
+	/**
+	 * <b>Autosave's second constructor</b>
+	 * 
+	 * Creates an autosave sharing the writer thread of other games.
+	 * 
+	 * @param path  The path of the save.
+	 * @param group The group writing the saves, not closed with the autosave.
+	 */
+	public Autosave(Path path, SaveGroup group) {
+		this(path, group, false);
+	}
+
+	/**
+	 * <b>Autosave's third constructor</b>
+	 * 
+	 * @param path     The path of the save.
+	 * @param group    The group writing the saves.
+	 * @param ownGroup True if the group must be closed with the autosave.
+	 */
+	private Autosave(Path path, SaveGroup group, boolean ownGroup) {
+		this.path = Objects.requireNonNull(path);
+		this.group = Objects.requireNonNull(group);
+		this.ownGroup = ownGroup;
+	}
+
+	/**
+	 * Saves the game in the background. Returns once the game is forked, without
+	 * waiting for the save to be written.
+	 * 
+	 * @param game The game to save.
+	 */
+	public void save(GameState game) {
+		last = group.save(path, game);
+	}
+
+	/**
+	 * Waits until all the saves are written.
+	 * 
+	 * @throws IOException Throws an IOException if the last save failed, or an
+	 *                     InterruptedIOException if the thread is interrupted.
+	 */
+	public void flush() throws IOException {
+		group.await(last);
+		IOException e = getFailure();
+		if (e != null) {
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the last failure of the writer, and forgets it.
+	 * 
+	 * @return Returns the exception, or null if no save failed since the last
+	 *         call.
+	 */
+	public IOException getFailure() {
+		return group.getFailure(path);
+	}
+
+	/**
+	 * Writes the last save, then stops the writer if it isn't shared.
+	 * 
+	 * @throws IOException Throws an IOException if the last save failed, or an
+	 *                     InterruptedIOException if the thread is interrupted.
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flush();
+		} finally {
+			if (ownGroup) {
+				group.close();
+			}
+		}
+	}
+}
@@ -1,12 +1,37 @@
 package tropico.utils;
 
-import java.io.*;
+import tropico.Difficulty;
+import tropico.GameState;
+import tropico.Season;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
- * This class contains methods to save an object into a file.
+ * This class contains methods to save a game into a file, and to load it.
+ * 
+ * A save starts with a header : the 4 bytes "TROP" and the version of the
+ * format, then the difficulty, the gamemode, the turn, the season, the number
+ * of players and the date of the save. The header is read alone by readInfo to
+ * list the saves. Then comes the state of the game, written by GameState.write.
+ * The scenario isn't part of the save, the events are written as their numbers
+ * in the scenario.
+ * 
+ * A save never writes over the previous one : it is written into a temporary
+ * file, forced to the disk, then renamed over the previous save. A crash keeps
+ * either the previous save or the new one, never a part of it.
  * 
  * @author Corentin OGER and Sébastien DOS SANTOS
  *
@@ -14,36 +39,235 @@ import java.util.Objects;
 public class Backup {
 
 	/**
-	 * Saves the object to the file.
+	 * The first bytes of every save.
+	 */
+	private static final byte[] MAGIC = { 'T', 'R', 'O', 'P' };
+
+	/**
+	 * The version of the format, written after the magic bytes. Must be
+	 * incremented at each change of the format.
+	 */
+	public static final int VERSION = 4;
+
+	/**
+	 * The maximum size of the header of a save, read by readInfo.
+	 */
+	private static final int HEADER_MAX = 256;
+
+	/**
+	 * The suffix of the temporary files, renamed once written.
+	 */
+	private static final String TEMPORARY = ".tmp";
+
+	/**
+	 * Saves the game to the file.
+	 * 
+	 * @param src  The path where you want to save the game.
+	 * @param game The game you want to save.
+	 * @throws IOException Throws an IOException if the file can't be written.
+	 */
+	public static void saveGame(String src, GameState game) throws IOException {
+		write(Path.of(src), encode(game));
+	}
+
+	/**
+	 * Writes the bytes of a save to a file, replacing it atomically.
+	 * 
+	 * @param path  The path of the save.
+	 * @param bytes The bytes of the save.
+	 * @throws IOException Throws an IOException if the file can't be written.
+	 */
+	public static void write(Path path, byte[] bytes) throws IOException {
+		IOException e = writeAll(Map.of(path, bytes)).get(path);
+		if (e != null) {
+			throw e;
+		}
+	}
+
+	/**
+	 * Writes several saves at once, replacing each file atomically. All the
+	 * temporary files are written and forced to the disk, then renamed, then each
+	 * directory is forced once : the cost of waiting for the disk is shared by all
+	 * the saves.
+	 * 
+	 * @param saves The bytes of each save, by path.
+	 * @return Returns the failures by path, empty if all the saves were written.
+	 */
+	public static Map<Path, IOException> writeAll(Map<Path, byte[]> saves) {
+		Map<Path, IOException> failures = new HashMap<>();
+		Set<Path> directories = new HashSet<>();
+
+		for (Map.Entry<Path, byte[]> save : saves.entrySet()) {
+			try {
+				writeTemporary(temporary(save.getKey()), save.getValue());
+			} catch (IOException e) {
+				failures.put(save.getKey(), e);
+			}
+		}
+
+		for (Path path : saves.keySet()) {
+			if (failures.containsKey(path)) {
+				continue;
+			}
+			try {
+				Files.move(temporary(path), path, StandardCopyOption.ATOMIC_MOVE,
+						StandardCopyOption.REPLACE_EXISTING);
+				directories.add(path.toAbsolutePath().getParent());
+			} catch (IOException e) {
+				failures.put(path, e);
+			}
+		}
+
+		for (Path directory : directories) {
+			forceDirectory(directory);
+		}
+		return failures;
+	}
+
+	/**
+	 * Returns the temporary file of a save.
 	 * 
-	 * @param src The path where you want to save the game.
-	 * @param obj The object you want to save.
-	 * @throws IOExceptio
+	 * @param path The path of the save.
+	 * @return Returns the path of the temporary file, next to the save.
 	 */
-	public static void saveObject(String src, Object obj) throws IOException {
-		Objects.requireNonNull(obj);
-		Path path = Path.of(src);
+	private static Path temporary(Path path) {
+		return path.resolveSibling(path.getFileName() + TEMPORARY);
+	}
 
-		try (OutputStream back = Files.newOutputStream(path); ObjectOutputStream out = new ObjectOutputStream(back)) {
-			out.writeObject(obj);
+	/**
+	 * Writes the bytes to a file, and waits for the disk to keep them.
+	 * 
+	 * @param path  The path of the file.
+	 * @param bytes The bytes to write.
+	 * @throws IOException Throws an IOException if the file can't be written.
+	 */
+	private static void writeTemporary(Path path, byte[] bytes) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+			ByteBuffer buffer = ByteBuffer.wrap(bytes);
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			channel.force(true);
+		}
+	}
+
+	/**
+	 * Waits for the disk to keep the renames of a directory. Not every system can
+	 * open a directory, the renames are then kept when the system decides to.
+	 * 
+	 * @param directory The directory of the saves.
+	 */
+	private static void forceDirectory(Path directory) {
+		try (FileChannel channel = FileChannel.open(directory, StandardOpenOption.READ)) {
+			channel.force(true);
 		} catch (IOException e) {
-			e.printStackTrace();
+			// The directory can't be forced on this system
 		}
 	}
 
 	/**
-	 * Loads the object from the file.
+	 * Loads the game from the file.
 	 *
-	 * @param src The path where the game should be saved.
-	 * @return Returns the object that was saved in the file.
-	 * @throws IOException
-	 * @throws ClassNotFoundException
+	 * @param src The path where the game was saved.
+	 * @return Returns the game that was saved in the file.
+	 * @throws IOException Throws an IOException if the file can't be read, or if
+	 *                     it isn't a save of this version.
+	 */
+	public static GameState loadGame(String src) throws IOException {
+		return decode(Files.readAllBytes(Path.of(src)));
+	}
+
+	/**
+	 * Reads the header of a save, without reading the game.
+	 * 
+	 * @param path The path of the save.
+	 * @return Returns the header of the save.
+	 * @throws IOException Throws an IOException if the file can't be read, or if
+	 *                     it isn't a save of this version.
+	 */
+	public static SaveInfo readInfo(Path path) throws IOException {
+		byte[] header;
+		try (InputStream in = Files.newInputStream(path)) {
+			header = in.readNBytes(HEADER_MAX);
+		}
+		return readHeader(new SaveReader(header), path);
+	}
+
+	/**
+	 * Writes the header and the game into an array of bytes.
+	 * 
+	 * @param game The game to save.
+	 * @return Returns the bytes of the save.
+	 */
+	public static byte[] encode(GameState game) {
+		Objects.requireNonNull(game);
+		SaveWriter out = new SaveWriter();
+		for (byte b : MAGIC) {
+			out.writeByte(b);
+		}
+		out.writeInt(VERSION);
+		out.writeInt(game.getDifficulty().ordinal());
+		out.writeString(game.getGamemode());
+		out.writeInt(game.getTurn());
+		out.writeInt(game.getSeason().ordinal());
+		out.writeInt(game.getPlayers().size());
+		out.writeLong(System.currentTimeMillis());
+		game.write(out);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Reads the game from the bytes of a save. The difficulty is part of the
+	 * game, the one of the header is only read to list the saves.
+	 * 
+	 * @param bytes The bytes of the save.
+	 * @return Returns the game.
+	 * @throws IOException Throws an IOException if the bytes aren't a save of this
+	 *                     version, or if they are corrupted.
 	 */
-	public static Object loadObject(String src) throws IOException, ClassNotFoundException {
-		Path path = Path.of(src);
+	public static GameState decode(byte[] bytes) throws IOException {
+		SaveReader in = new SaveReader(bytes);
+		SaveInfo info = readHeader(in, null);
+		GameState game = GameState.read(in);
+		if (!in.isOver()) {
+			throw new IOException("The save is corrupted : unexpected data after the game.");
+		}
+		if (!game.getGamemode().equals(info.getGamemode()) || game.getTurn() != info.getTurn()
+				|| game.getDifficulty() != info.getDifficulty()) {
+			throw new IOException("The save is corrupted : the header doesn't match the game.");
+		}
+		return game;
+	}
 
-		try (InputStream back = Files.newInputStream(path); ObjectInputStream in = new ObjectInputStream(back)) {
-			return in.readObject();
+	/**
+	 * Reads the header of a save.
+	 * 
+	 * @param in   The reader of the save.
+	 * @param path The path of the save, null if it isn't read from a file.
+	 * @return Returns the header.
+	 * @throws IOException Throws an IOException if the bytes aren't a save of this
+	 *                     version, or if the header is corrupted.
+	 */
+	private static SaveInfo readHeader(SaveReader in, Path path) throws IOException {
+		for (byte b : MAGIC) {
+			if (in.readByte() != b) {
+				throw new IOException("This file isn't a save.");
+			}
 		}
+		int version = in.readInt();
+		if (version != VERSION) {
+			throw new IOException("The version " + version + " of the save isn't supported.");
+		}
+
+		Difficulty[] difficulties = Difficulty.values();
+		Difficulty difficulty = difficulties[in.readInt(0, difficulties.length - 1)];
+		String gamemode = in.readString();
+		int turn = in.readInt(1, Integer.MAX_VALUE);
+		Season[] seasons = Season.values();
+		Season season = seasons[in.readInt(0, seasons.length - 1)];
+		int players = in.readInt(1, Integer.MAX_VALUE);
+		Instant timestamp = Instant.ofEpochMilli(in.readLong());
+		return new SaveInfo(path, gamemode, turn, season, players, timestamp, difficulty);
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,240 @@
+package tropico.utils;
+
+import java.io.IOException;
+import java.io.Serializable;
+
+/**
+ * This class is the random generator of a game. It uses the same algorithm as
+ * java.util.SplittableRandom (SplitMix64), but it can be saved with the game
+ * and its position can be read, so that a game can be replayed exactly.
+ * 
+ * A generator can be split into independent generators, one for each player or
+ * each game of a simulation, which don't need any synchronization.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class GameRandom implements Serializable {
+
+	/**
+	 * Necessary field to avoid warning while implementing Serializable.
+	 */
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * The default gamma, the odd part of the golden ratio.
+	 */
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	/**
+	 * The unit of the doubles, 2^-53.
+	 */
+	private static final double DOUBLE_UNIT = 0x1.0p-53;
+
+	/**
+	 * The unit of the floats, 2^-24.
+	 */
+	private static final float FLOAT_UNIT = 0x1.0p-24f;
+
+	/**
+	 * The position of the generator, incremented by gamma at each draw.
+	 */
+	private long seed;
+
+	/**
+	 * The step of the generator, always odd.
+	 */
+	private final long gamma;
+
+	/**
+	 * <b>GameRandom's constructor</b>
+	 * 
+	 * Creates a generator from a seed.
+	 * 
+	 * @param seed The seed of the generator.
+	 */
+	public GameRandom(long seed) {
+		this(seed, GOLDEN_GAMMA);
+	}
+
+	/**
+	 * <b>GameRandom's second constructor</b>
+	 * 
+	 * Creates a generator from its position and its step.
+	 * 
+	 * @param seed  The position of the generator.
+	 * @param gamma The step of the generator, must be odd.
+	 */
+	private GameRandom(long seed, long gamma) {
+		this.seed = seed;
+		this.gamma = gamma;
+	}
+
+	/**
+	 * Creates a copy of this generator, at the same position.
+	 * 
+	 * @return Returns a generator giving the same draws as this one.
+	 */
+	public GameRandom copy() {
+		return new GameRandom(seed, gamma);
+	}
+
+	/**
+	 * Getter for the field seed.
+	 * 
+	 * @return Returns the current position of the generator.
+	 */
+	public long getPosition() {
+		return seed;
+	}
+
+	/**
+	 * Writes the generator into a save.
+	 * 
+	 * @param out The writer of the save.
+	 */
+	public void write(SaveWriter out) {
+		out.writeLong(seed);
+		out.writeLong(gamma);
+	}
+
+	/**
+	 * Reads a generator written by write.
+	 * 
+	 * @param in The reader of the save.
+	 * @return Returns a generator at the position it was saved.
+	 * @throws IOException Throws an IOException if the save is truncated or
+	 *                     corrupted.
+	 */
+	public static GameRandom read(SaveReader in) throws IOException {
+		long seed = in.readLong();
+		long gamma = in.readLong();
+		if ((gamma & 1) == 0) {
+			throw new IOException("The save is corrupted : the step of a generator is even.");
+		}
+		return new GameRandom(seed, gamma);
+	}
+
+	/**
+	 * Creates a new generator, independent from this one. This generator moves
+	 * forward.
+	 * 
+	 * @return Returns the new generator.
+	 */
+	public GameRandom split() {
+		return new GameRandom(nextLong(), mixGamma(nextSeed()));
+	}
+
+	/**
+	 * Creates the generator of the index-th stream of this generator, without
+	 * moving it forward. The same index always gives the same generator, so the
+	 * streams can be created in any order, on any thread.
+	 * 
+	 * @param index The index of the stream.
+	 * @return Returns the generator of the stream.
+	 */
+	public GameRandom split(long index) {
+		long s = seed + (index + 1) * 2 * gamma;
+		return new GameRandom(mix64(s), mixGamma(s + gamma));
+	}
+
+	/**
+	 * Draws a long.
+	 * 
+	 * @return Returns a random long.
+	 */
+	public long nextLong() {
+		return mix64(nextSeed());
+	}
+
+	/**
+	 * Draws an int between 0 (included) and bound (excluded).
+	 * 
+	 * @param bound The upper bound, must be positive.
+	 * @return Returns a random int.
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) {
+			throw new IllegalArgumentException("The bound must be superior to 0.");
+		}
+		int r = mix32(nextSeed());
+		int m = bound - 1;
+		if ((bound & m) == 0) {
+			return r & m;
+		}
+		for (int u = r >>> 1; u + m - (r = u % bound) < 0; u = mix32(nextSeed()) >>> 1) {
+		}
+		return r;
+	}
+
+	/**
+	 * Draws a double between 0 (included) and 1 (excluded).
+	 * 
+	 * @return Returns a random double.
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * DOUBLE_UNIT;
+	}
+
+	/**
+	 * Draws a float between 0 (included) and 1 (excluded).
+	 * 
+	 * @return Returns a random float.
+	 */
+	public float nextFloat() {
+		return (mix32(nextSeed()) >>> 8) * FLOAT_UNIT;
+	}
+
+	/**
+	 * Moves the generator forward.
+	 * 
+	 * @return Returns the new position.
+	 */
+	private long nextSeed() {
+		return seed += gamma;
+	}
+
+	/**
+	 * Mixes the bits of a position to get a long (variant 13 of MurmurHash3's
+	 * finalizer). Also used to hash values outside of this class.
+	 * 
+	 * @param z The position.
+	 * @return Returns the mixed long.
+	 */
+	public static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Mixes the bits of a position to get an int.
+	 * 
+	 * @param z The position.
+	 * @return Returns the mixed int.
+	 */
+	private static int mix32(long z) {
+		z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+		return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+	}
+
+	/**
+	 * Computes the step of a new generator. The step is odd and has enough bit
+	 * changes to give good draws.
+	 * 
+	 * @param z The position used to compute the step.
+	 * @return Returns the step.
+	 */
+	private static long mixGamma(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		z = (z ^ (z >>> 33)) | 1L;
+		int n = Long.bitCount(z ^ (z >>> 1));
+		return (n < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+	}
+
+	@Override
+	public String toString() {
+		return "GameRandom{" + "seed=" + seed + ", gamma=" + gamma + '}';
+	}
+}
@@ -0,0 +1,541 @@
+package tropico.utils;
+
+import tropico.GameState;
+import tropico.Player;
+import tropico.events.Event;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * This class records every turn of a game in an append-only file, mapped in
+ * memory. A turn only takes a few bytes : the number of the event, the index
+ * of the choice, the bribes and the food bought at the end of the year, and
+ * the positions of the random generators, used to check the replay. Every few
+ * turns, a checkpoint holds the whole game in the format of Backup, so that
+ * any turn can be rebuilt by replaying the turns from the nearest checkpoint.
+ * 
+ * The file starts with the 4 bytes "TRPJ" and the version of the format. Then
+ * come the records : their type (checkpoint or turn), the length and the CRC32
+ * of their content, then their content. The file grows by chunks filled with
+ * zeros, a zero type marking the end of the records. A record cut by a crash
+ * has a wrong CRC, and is ignored with everything after it.
+ * 
+ * The journal is given to the GameState with setJournal, which reports the
+ * choices, the bribes, the food bought and the end of each turn.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class Journal implements Closeable {
+
+	/**
+	 * The first bytes of every journal.
+	 */
+	private static final byte[] MAGIC = { 'T', 'R', 'P', 'J' };
+
+	/**
+	 * The version of the format, written after the magic bytes.
+	 */
+	public static final int VERSION = 1;
+
+	/**
+	 * The size of the header of the file.
+	 */
+	private static final int HEADER = MAGIC.length + 1;
+
+	/**
+	 * The size of the header of a record : its type, length and CRC32.
+	 */
+	private static final int RECORD_HEADER = 9;
+
+	/**
+	 * The size by which the file grows.
+	 */
+	private static final int CHUNK = 64 * 1024;
+
+	/**
+	 * The type of the records holding the whole game.
+	 */
+	private static final byte CHECKPOINT = 1;
+
+	/**
+	 * The type of the records holding one turn.
+	 */
+	private static final byte TURN = 2;
+
+	/**
+	 * The action of a bribe, followed by the index of the faction.
+	 */
+	private static final int BRIBE = 0;
+
+	/**
+	 * The action of buying food, followed by the number of units.
+	 */
+	private static final int FOOD = 1;
+
+	/**
+	 * The file of the journal.
+	 */
+	private final FileChannel channel;
+
+	/**
+	 * The file mapped in memory, positioned at the end of the records.
+	 */
+	private MappedByteBuffer buffer;
+
+	/**
+	 * The number of turns between two checkpoints.
+	 */
+	private final int checkpointInterval;
+
+	/**
+	 * The turn of the last checkpoint.
+	 */
+	private int lastCheckpoint;
+
+	/**
+	 * The record of the current turn, null until the choice of the turn is made.
+	 */
+	private SaveWriter turn;
+
+	/**
+	 * The actions of the current turn : bribes and food bought.
+	 */
+	private SaveWriter actions = new SaveWriter();
+
+	/**
+	 * The number of actions of the current turn.
+	 */
+	private int actionCount;
+
+	/**
+	 * The index of the player of the current turn.
+	 */
+	private int player;
+
+	/**
+	 * <b>Journal's constructor</b>
+	 * 
+	 * Maps a journal file, positioned at the end of its records.
+	 * 
+	 * @param channel            The file of the journal.
+	 * @param end                The position of the end of the records.
+	 * @param checkpointInterval The number of turns between two checkpoints.
+	 * @throws IOException Throws an IOException if the file can't be mapped.
+	 */
+	private Journal(FileChannel channel, int end, int checkpointInterval) throws IOException {
+		if (checkpointInterval <= 0) {
+			throw new IllegalArgumentException("The interval between checkpoints must be superior to 0.");
+		}
+		this.channel = channel;
+		this.checkpointInterval = checkpointInterval;
+		map(Math.max(CHUNK, (int) channel.size()));
+		buffer.position(end);
+	}
+
+	/**
+	 * Creates a new journal, replacing the file if it exists, and starts it with
+	 * a checkpoint of the game. The journal then records the turns of the game.
+	 * 
+	 * @param path               The path of the journal.
+	 * @param game               The game to record.
+	 * @param checkpointInterval The number of turns between two checkpoints.
+	 * @return Returns the journal, to close at the end of the game.
+	 * @throws IOException Throws an IOException if the file can't be written.
+	 */
+	public static Journal create(Path path, GameState game, int checkpointInterval) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+				StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		Journal journal = new Journal(channel, 0, checkpointInterval);
+		journal.buffer.put(MAGIC).put((byte) VERSION);
+		journal.checkpoint(game);
+		game.setJournal(journal);
+		return journal;
+	}
+
+	/**
+	 * Rebuilds the last recorded turn of a journal, and goes on recording the
+	 * turns of the game at the end of the journal.
+	 * 
+	 * @param path               The path of the journal.
+	 * @param checkpointInterval The number of turns between two checkpoints.
+	 * @return Returns the journal, to close at the end of the game. Its game is
+	 *         returned by getGame.
+	 * @throws IOException Throws an IOException if the file can't be read, or if
+	 *                     it is corrupted.
+	 */
+	public static Resumed resume(Path path, int checkpointInterval) throws IOException {
+		FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+		try {
+			Replay replay = new Replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+			GameState game = replay.play(Integer.MAX_VALUE);
+			Journal journal = new Journal(channel, replay.end, checkpointInterval);
+			journal.lastCheckpoint = replay.checkpointTurn;
+			game.setJournal(journal);
+			return new Resumed(journal, game);
+		} catch (IOException | RuntimeException e) {
+			channel.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Rebuilds the last recorded turn of a journal.
+	 * 
+	 * @param path The path of the journal.
+	 * @return Returns the game at the start of its last recorded turn.
+	 * @throws IOException Throws an IOException if the file can't be read, or if
+	 *                     it is corrupted.
+	 */
+	public static GameState replay(Path path) throws IOException {
+		return replay(path, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Rebuilds a turn of a game, from the nearest checkpoint before it.
+	 * 
+	 * @param path The path of the journal.
+	 * @param turn The turn to rebuild.
+	 * @return Returns the game at the start of the turn, or at the start of the
+	 *         last recorded turn if the turn is after it.
+	 * @throws IOException Throws an IOException if the file can't be read, if it
+	 *                     is corrupted or if the turn is before the first
+	 *                     checkpoint.
+	 */
+	public static GameState replay(Path path, int turn) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return new Replay(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size())).play(turn);
+		}
+	}
+
+	/**
+	 * Records the choice of the current turn. Called by the GameState.
+	 * 
+	 * @param game   The game, before the choice is applied.
+	 * @param choice The index of the choice in the current event's choices.
+	 */
+	public void choice(GameState game, int choice) {
+		player = game.getCurrentPlayer();
+		turn = new SaveWriter();
+		turn.writeInt(game.getTurn());
+		turn.writeInt(game.getCurrentEvent().getId());
+		turn.writeInt(player);
+		turn.writeInt(choice);
+		actions = new SaveWriter();
+		actionCount = 0;
+	}
+
+	/**
+	 * Records a bribe of the current turn. Called by the GameState.
+	 * 
+	 * @param faction The index of the bribed faction.
+	 */
+	public void bribe(int faction) {
+		actions.writeInt(BRIBE);
+		actions.writeInt(faction);
+		actionCount++;
+	}
+
+	/**
+	 * Records food bought during the current turn. Called by the GameState.
+	 * 
+	 * @param unit The number of food units bought.
+	 */
+	public void food(int unit) {
+		actions.writeInt(FOOD);
+		actions.writeInt(unit);
+		actionCount++;
+	}
+
+	/**
+	 * Writes the record of the turn which just ended, then a checkpoint if the
+	 * last one is too old. Called by the GameState.
+	 * 
+	 * @param game The game, once the turn ended.
+	 */
+	public void endTurn(GameState game) {
+		if (turn == null) {
+			throw new IllegalStateException("The turn ended without any choice.");
+		}
+		turn.writeInt(actionCount);
+		byte[] recorded = actions.toByteArray();
+		for (byte b : recorded) {
+			turn.writeByte(b);
+		}
+		turn.writeLong(game.getRandomPosition());
+		turn.writeLong(game.getPlayers().get(player).getRandomPosition());
+
+		try {
+			append(TURN, turn.toByteArray());
+			turn = null;
+			if (game.getTurn() - lastCheckpoint >= checkpointInterval) {
+				checkpoint(game);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * Writes a checkpoint of the game.
+	 * 
+	 * @param game The game, at the start of a turn.
+	 * @throws IOException Throws an IOException if the file can't be written.
+	 */
+	private void checkpoint(GameState game) throws IOException {
+		SaveWriter out = new SaveWriter();
+		out.writeInt(game.getTurn());
+		for (byte b : Backup.encode(game)) {
+			out.writeByte(b);
+		}
+		append(CHECKPOINT, out.toByteArray());
+		lastCheckpoint = game.getTurn();
+	}
+
+	/**
+	 * Appends a record at the end of the journal, growing the file if needed.
+	 * 
+	 * @param type    The type of the record.
+	 * @param content The content of the record.
+	 * @throws IOException Throws an IOException if the file can't be written.
+	 */
+	private void append(byte type, byte[] content) throws IOException {
+		// One more byte for the zero type marking the end
+		int needed = buffer.position() + RECORD_HEADER + content.length + 1;
+		if (needed > buffer.capacity()) {
+			int position = buffer.position();
+			map((needed / CHUNK + 1) * CHUNK);
+			buffer.position(position);
+		}
+
+		CRC32 crc = new CRC32();
+		crc.update(content);
+		buffer.put(type).putInt(content.length).putInt((int) crc.getValue()).put(content);
+	}
+
+	/**
+	 * Maps the file in memory, growing it to the given size.
+	 * 
+	 * @param size The size of the mapping.
+	 * @throws IOException Throws an IOException if the file can't be mapped.
+	 */
+	private void map(int size) throws IOException {
+		buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+	}
+
+	/**
+	 * Writes the records to the disk and closes the file. The game must stop using
+	 * the journal.
+	 * 
+	 * @throws IOException Throws an IOException if the file can't be written.
+	 */
+	@Override
+	public void close() throws IOException {
+		buffer.force();
+		channel.close();
+	}
+
+	/**
+	 * A game rebuilt from a journal, with the journal recording its next turns.
+	 */
+	public static final class Resumed {
+
+		/**
+		 * The journal recording the next turns.
+		 */
+		private final Journal journal;
+
+		/**
+		 * The rebuilt game.
+		 */
+		private final GameState game;
+
+		/**
+		 * <b>Resumed's constructor</b>
+		 * 
+		 * @param journal The journal recording the next turns.
+		 * @param game    The rebuilt game.
+		 */
+		private Resumed(Journal journal, GameState game) {
+			this.journal = journal;
+			this.game = game;
+		}
+
+		/**
+		 * Getter for the field journal.
+		 * 
+		 * @return Returns the journal, to close at the end of the game.
+		 */
+		public Journal getJournal() {
+			return journal;
+		}
+
+		/**
+		 * Getter for the field game.
+		 * 
+		 * @return Returns the rebuilt game.
+		 */
+		public GameState getGame() {
+			return game;
+		}
+	}
+
+	/**
+	 * Reads the records of a journal to rebuild a turn.
+	 */
+	private static final class Replay {
+
+		/**
+		 * The content of the file.
+		 */
+		private final ByteBuffer buffer;
+
+		/**
+		 * The position of the end of the valid records, once the replay is over.
+		 */
+		private int end;
+
+		/**
+		 * The turn of the checkpoint the replay started from.
+		 */
+		private int checkpointTurn;
+
+		/**
+		 * <b>Replay's constructor</b>
+		 * 
+		 * Checks the header of the journal.
+		 * 
+		 * @param buffer The content of the file.
+		 * @throws IOException Throws an IOException if the file isn't a journal of
+		 *                     this version.
+		 */
+		private Replay(ByteBuffer buffer) throws IOException {
+			this.buffer = buffer;
+			if (buffer.limit() < HEADER) {
+				throw new IOException("This file isn't a journal.");
+			}
+			for (byte b : MAGIC) {
+				if (buffer.get() != b) {
+					throw new IOException("This file isn't a journal.");
+				}
+			}
+			int version = buffer.get();
+			if (version != VERSION) {
+				throw new IOException("The version " + version + " of the journal isn't supported.");
+			}
+		}
+
+		/**
+		 * Reads the records until the turn, and plays the turns from the nearest
+		 * checkpoint before it.
+		 * 
+		 * @param target The turn to rebuild.
+		 * @return Returns the game at the start of the turn, or of the last recorded
+		 *         turn.
+		 * @throws IOException Throws an IOException if the journal is corrupted or
+		 *                     if there is no checkpoint before the turn.
+		 */
+		private GameState play(int target) throws IOException {
+			GameState game = null;
+			byte[] content;
+			int type;
+
+			while ((type = nextType()) != 0) {
+				content = nextContent();
+				if (content == null) {
+					// The record was cut by a crash, the journal ends there
+					break;
+				}
+				SaveReader in = new SaveReader(content);
+				int turn = in.readInt();
+
+				if (type == CHECKPOINT && turn <= target) {
+					game = Backup.decode(Arrays.copyOfRange(content, content.length - in.remaining(), content.length));
+					checkpointTurn = turn;
+				} else if (type == TURN && game != null && turn == game.getTurn() && turn < target) {
+					playTurn(game, in);
+				}
+				end = buffer.position();
+			}
+
+			if (game == null) {
+				throw new IOException("There is no checkpoint before the turn " + target + ".");
+			}
+			return game;
+		}
+
+		/**
+		 * Reads the type of the next record.
+		 * 
+		 * @return Returns the type, 0 if there is no record left.
+		 */
+		private int nextType() {
+			end = buffer.position();
+			return buffer.remaining() < RECORD_HEADER ? 0 : buffer.get();
+		}
+
+		/**
+		 * Reads the content of the next record, and checks its CRC32.
+		 * 
+		 * @return Returns the content, or null if the record is cut.
+		 */
+		private byte[] nextContent() {
+			int length = buffer.getInt();
+			int checksum = buffer.getInt();
+			if (length < 0 || length > buffer.remaining()) {
+				return null;
+			}
+			byte[] content = new byte[length];
+			buffer.get(content);
+
+			CRC32 crc = new CRC32();
+			crc.update(content);
+			return (int) crc.getValue() == checksum ? content : null;
+		}
+
+		/**
+		 * Plays a recorded turn, and checks that the game draws the same random
+		 * numbers as the recorded one.
+		 * 
+		 * @param game The game, at the start of the turn.
+		 * @param in   The reader of the record, after the turn.
+		 * @throws IOException Throws an IOException if the game doesn't match the
+		 *                     record.
+		 */
+		private static void playTurn(GameState game, SaveReader in) throws IOException {
+			Event event = game.getCurrentEvent();
+			if (in.readInt() != event.getId() || in.readInt() != game.getCurrentPlayer()) {
+				throw new IOException("The journal doesn't match the game at the turn " + game.getTurn() + ".");
+			}
+			Player p = game.getPlayer();
+			game.applyChoice(event.getChoices().get(in.readInt(0, event.getChoices().size() - 1)));
+
+			int actions = in.readInt(0, Integer.MAX_VALUE);
+			for (int i = 0; i < actions; i++) {
+				int action = in.readInt(BRIBE, FOOD);
+				if (action == BRIBE) {
+					game.bribe(p.getFaction(in.readInt(0, p.getFactionCount() - 1)));
+				} else {
+					game.buyFood(in.readInt(0, Integer.MAX_VALUE));
+				}
+			}
+			if (game.isEndOfYear()) {
+				p.generateResources();
+			}
+			game.endTurn();
+
+			if (in.readLong() != game.getRandomPosition() || in.readLong() != p.getRandomPosition()) {
+				throw new IOException("The replay of the turn " + (game.getTurn() - 1) + " doesn't match the journal.");
+			}
+		}
+	}
+}
@@ -0,0 +1,253 @@
+package tropico.utils;
+
+import java.util.Objects;
+
+/**
+ * This class contains methods to draw random numbers following the
+ * distributions of the game. They draw the result of many independent draws at
+ * once, with exactly the same probabilities as drawing them one by one.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public final class Sampling {
+
+	/**
+	 * The size of the table of the logarithms of the factorials.
+	 */
+	private static final int LOG_FACTORIALS_SIZE = 256;
+
+	/**
+	 * The logarithms of the factorials of the small numbers.
+	 */
+	private static final double[] LOG_FACTORIALS = new double[LOG_FACTORIALS_SIZE];
+
+	static {
+		for (int i = 1; i < LOG_FACTORIALS_SIZE; i++) {
+			LOG_FACTORIALS[i] = LOG_FACTORIALS[i - 1] + Math.log(i);
+		}
+	}
+
+	/**
+	 * No instance of this class.
+	 */
+	private Sampling() {
+	}
+
+	/**
+	 * Draws how many of n independent trials fall in each category, each trial
+	 * falling in a category with a probability proportional to its weight.
+	 * 
+	 * @param random  The random generator.
+	 * @param n       The number of trials.
+	 * @param weights The positive weights of the categories.
+	 * @return Returns the number of trials of each category.
+	 */
+	public static int[] multinomial(GameRandom random, int n, double[] weights) {
+		Objects.requireNonNull(weights);
+		if (n < 0) {
+			throw new IllegalArgumentException("The number of trials must be superior or equal to 0.");
+		}
+
+		// The sum of the weights from each category to the last one
+		double[] remaining = new double[weights.length + 1];
+		for (int i = weights.length - 1; i >= 0; i--) {
+			if (!(weights[i] >= 0)) {
+				throw new IllegalArgumentException("The weights must be positive.");
+			}
+			remaining[i] = remaining[i + 1] + weights[i];
+		}
+
+		int[] counts = new int[weights.length];
+		// Each category is drawn against the categories after it
+		for (int i = 0; i < weights.length && n > 0; i++) {
+			if (remaining[i + 1] == 0) {
+				counts[i] = weights[i] > 0 ? n : 0;
+				break;
+			}
+			counts[i] = binomial(random, n, weights[i] / remaining[i]);
+			n -= counts[i];
+		}
+		return counts;
+	}
+
+	/**
+	 * Draws how many of n independent trials succeed, each with the probability
+	 * p. The draw starts from the most likely result and goes away from it, so
+	 * its cost grows with the standard deviation and not with the number of
+	 * trials.
+	 * 
+	 * @param random The random generator.
+	 * @param n      The number of trials.
+	 * @param p      The probability of success, between 0 and 1.
+	 * @return Returns the number of successes.
+	 */
+	public static int binomial(GameRandom random, int n, double p) {
+		if (n < 0 || !(p >= 0 && p <= 1)) {
+			throw new IllegalArgumentException("Invalid binomial parameters.");
+		}
+		if (n == 0 || p == 0) {
+			return 0;
+		}
+		if (p == 1) {
+			return n;
+		}
+
+		int mode = (int) Math.min((n + 1) * p, n);
+		double odds = p / (1 - p);
+
+		double u = random.nextDouble();
+		double pMode = Math.exp(logChoose(n, mode) + mode * Math.log(p) + (n - mode) * Math.log1p(-p));
+
+		u -= pMode;
+		if (u < 0) {
+			return mode;
+		}
+
+		int low = mode;
+		int high = mode;
+		double pLow = pMode;
+		double pHigh = pMode;
+		while (low > 0 || high < n) {
+			if (high < n) {
+				// Ratio between the probabilities of high + 1 and high
+				pHigh *= (n - high) / (high + 1.0) * odds;
+				high++;
+				u -= pHigh;
+				if (u < 0) {
+					return high;
+				}
+			}
+			if (low > 0) {
+				// Ratio between the probabilities of low - 1 and low
+				pLow *= low / (n - low + 1.0) / odds;
+				low--;
+				u -= pLow;
+				if (u < 0) {
+					return low;
+				}
+			}
+		}
+		// Only reached because of rounding errors
+		return mode;
+	}
+
+	/**
+	 * Draws how many items of each group are taken when draws items are taken one
+	 * by one, without replacement, from the groups. Each item has the same chance
+	 * to be taken.
+	 * 
+	 * @param random The random generator.
+	 * @param counts The number of items of each group.
+	 * @param total  The total number of items, the sum of counts.
+	 * @param draws  The number of items taken, between 0 and total.
+	 * @return Returns the number of items taken from each group.
+	 */
+	public static int[] multivariateHypergeometric(GameRandom random, int[] counts, int total, int draws) {
+		Objects.requireNonNull(counts);
+		if (draws < 0 || draws > total) {
+			throw new IllegalArgumentException("The number of draws must be between 0 and " + total + ".");
+		}
+
+		int[] taken = new int[counts.length];
+		// Each group is drawn against the groups after it
+		for (int i = 0; i < counts.length && draws > 0; i++) {
+			taken[i] = hypergeometric(random, total, counts[i], draws);
+			total -= counts[i];
+			draws -= taken[i];
+		}
+		return taken;
+	}
+
+	/**
+	 * Draws how many items of a group are taken when draws items are taken
+	 * without replacement from a population. The draw starts from the most likely
+	 * result and goes away from it, so its cost grows with the standard deviation
+	 * and not with the number of draws.
+	 * 
+	 * @param random     The random generator.
+	 * @param population The total number of items.
+	 * @param successes  The number of items of the group.
+	 * @param draws      The number of items taken.
+	 * @return Returns the number of items of the group that are taken.
+	 */
+	public static int hypergeometric(GameRandom random, int population, int successes, int draws) {
+		if (successes < 0 || successes > population || draws < 0 || draws > population) {
+			throw new IllegalArgumentException("Invalid hypergeometric parameters.");
+		}
+		int min = Math.max(0, draws + successes - population);
+		int max = Math.min(draws, successes);
+		if (min == max) {
+			return min;
+		}
+
+		int mode = (int) ((draws + 1.0) * (successes + 1.0) / (population + 2.0));
+		mode = Math.max(min, Math.min(max, mode));
+
+		double u = random.nextDouble();
+		double pMode = Math.exp(logChoose(successes, mode) + logChoose(population - successes, draws - mode)
+				- logChoose(population, draws));
+
+		u -= pMode;
+		if (u < 0) {
+			return mode;
+		}
+
+		int low = mode;
+		int high = mode;
+		double pLow = pMode;
+		double pHigh = pMode;
+		int failures = population - successes;
+		while (low > min || high < max) {
+			if (high < max) {
+				// Ratio between the probabilities of high + 1 and high
+				pHigh *= (double) (successes - high) * (draws - high) / ((high + 1.0) * (failures - draws + high + 1.0));
+				high++;
+				u -= pHigh;
+				if (u < 0) {
+					return high;
+				}
+			}
+			if (low > min) {
+				// Ratio between the probabilities of low - 1 and low
+				pLow *= (double) low * (failures - draws + low) / ((successes - low + 1.0) * (draws - low + 1.0));
+				low--;
+				u -= pLow;
+				if (u < 0) {
+					return low;
+				}
+			}
+		}
+		// Only reached because of rounding errors
+		return mode;
+	}
+
+	/**
+	 * Computes the logarithm of the binomial coefficient (n k).
+	 * 
+	 * @param n The size of the set.
+	 * @param k The size of the subset.
+	 * @return Returns log(n! / (k! (n - k)!)).
+	 */
+	private static double logChoose(int n, int k) {
+		return logFactorial(n) - logFactorial(k) - logFactorial(n - k);
+	}
+
+	/**
+	 * Computes the logarithm of the factorial of n, with a table for the small
+	 * numbers and Stirling's series for the others.
+	 * 
+	 * @param n A positive int.
+	 * @return Returns log(n!).
+	 */
+	static double logFactorial(int n) {
+		if (n < LOG_FACTORIALS_SIZE) {
+			return LOG_FACTORIALS[n];
+		}
+		double x = n + 1.0;
+		double inverse = 1 / x;
+		double inverse2 = inverse * inverse;
+		return (x - 0.5) * Math.log(x) - x + 0.5 * Math.log(2 * Math.PI)
+				+ inverse * (1.0 / 12 - inverse2 * (1.0 / 360 - inverse2 * (1.0 / 1260 - inverse2 / 1680)));
+	}
+}
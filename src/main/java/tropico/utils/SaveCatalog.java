@@ -0,0 +1,126 @@
+package tropico.utils;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * This class lists the saves of a directory. Each gamemode has several slots,
+ * the save of a slot is named "gamemode_save_slot". Only the headers of the
+ * saves are read, see Backup.readInfo : the games are decoded once a save is
+ * chosen.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class SaveCatalog {
+
+	/**
+	 * The part of the name of a save between the gamemode and the slot.
+	 */
+	private static final String SAVE = "_save_";
+
+	/**
+	 * The directory of the saves.
+	 */
+	private final Path directory;
+
+	/**
+	 * <b>SaveCatalog's constructor</b>
+	 * 
+	 * @param directory The directory of the saves.
+	 */
+	public SaveCatalog(Path directory) {
+		this.directory = Objects.requireNonNull(directory);
+	}
+
+	/**
+	 * Lists the saves of a gamemode, the most recent first. The files which
+	 * aren't saves of this version are ignored.
+	 * 
+	 * @param gamemode The gamemode of the saves.
+	 * @return Returns the headers of the saves.
+	 * @throws IOException Throws an IOException if the directory can't be read.
+	 */
+	public List<SaveInfo> list(String gamemode) throws IOException {
+		List<SaveInfo> saves = new ArrayList<>();
+		if (!Files.isDirectory(directory)) {
+			return saves;
+		}
+
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, gamemode + SAVE + "*")) {
+			for (Path file : files) {
+				if (getSlot(gamemode, file) < 1) {
+					continue;
+				}
+				try {
+					saves.add(Backup.readInfo(file));
+				} catch (IOException e) {
+					// Not a save of this version
+				}
+			}
+		}
+		saves.sort(Comparator.comparing(SaveInfo::getTimestamp).reversed());
+		return saves;
+	}
+
+	/**
+	 * Returns the path of a slot of a gamemode.
+	 * 
+	 * @param gamemode The gamemode of the save.
+	 * @param slot     The slot of the save, at least 1.
+	 * @return Returns the path of the save.
+	 */
+	public Path getPath(String gamemode, int slot) {
+		if (slot < 1) {
+			throw new IllegalArgumentException("The slot must be superior to 0.");
+		}
+		return directory.resolve(gamemode + SAVE + slot);
+	}
+
+	/**
+	 * Returns the path of the first free slot of a gamemode.
+	 * 
+	 * @param gamemode The gamemode of the save.
+	 * @return Returns the path of a slot without save.
+	 * @throws IOException Throws an IOException if the directory can't be read.
+	 */
+	public Path getFreePath(String gamemode) throws IOException {
+		int last = 0;
+		if (Files.isDirectory(directory)) {
+			try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, gamemode + SAVE + "*")) {
+				for (Path file : files) {
+					last = Math.max(last, getSlot(gamemode, file));
+				}
+			}
+		}
+		return getPath(gamemode, last + 1);
+	}
+
+	/**
+	 * Reads the slot in the name of a save.
+	 * 
+	 * @param gamemode The gamemode of the save.
+	 * @param file     The path of the file.
+	 * @return Returns the slot, or -1 if the file isn't a save of the gamemode
+	 *         (a temporary file for instance).
+	 */
+	private static int getSlot(String gamemode, Path file) {
+		String name = file.getFileName().toString();
+		String prefix = gamemode + SAVE;
+		if (!name.startsWith(prefix) || name.length() == prefix.length() || name.length() > prefix.length() + 9) {
+			return -1;
+		}
+		for (int i = prefix.length(); i < name.length(); i++) {
+			if (name.charAt(i) < '0' || name.charAt(i) > '9') {
+				return -1;
+			}
+		}
+		return Integer.parseInt(name.substring(prefix.length()));
+	}
+}
@@ -0,0 +1,253 @@
+package tropico.utils;
+
+import tropico.GameState;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This class writes the saves of many games on one background thread. The
+ * saves requested during a short window are written together with
+ * Backup.writeAll, so that the games share the time spent waiting for the
+ * disk. If a game is saved again before its save is written, only the last
+ * save is kept.
+ * 
+ * The game threads only take a fork of their game, which is cheap : encoding
+ * and writing happen on the writer thread.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class SaveGroup implements Closeable {
+
+	/**
+	 * The time the writer waits for other saves before writing a batch.
+	 */
+	private final long window;
+
+	/**
+	 * The thread writing the saves.
+	 */
+	private final Thread writer;
+
+	/**
+	 * The forks of the games waiting to be written, by path.
+	 */
+	private final Map<Path, GameState> pending = new LinkedHashMap<>();
+
+	/**
+	 * The last failure of each path, removed once read.
+	 */
+	private final Map<Path, IOException> failures = new HashMap<>();
+
+	/**
+	 * The number of the last requested save.
+	 */
+	private long requested;
+
+	/**
+	 * The number of the last save written, all the saves before it are written
+	 * too.
+	 */
+	private long written;
+
+	/**
+	 * True once the group is closed.
+	 */
+	private boolean closed;
+
+	/**
+	 * The number of saves replaced by a newer one before being written.
+	 */
+	private int coalesced;
+
+	/**
+	 * The number of batches written.
+	 */
+	private int batches;
+
+	/**
+	 * <b>SaveGroup's constructor</b>
+	 * 
+	 * Starts the writer thread.
+	 * 
+	 * @param window The time the writer waits for other saves before writing a
+	 *               batch, zero to write as soon as possible.
+	 */
+	public SaveGroup(Duration window) {
+		if (window.isNegative()) {
+			throw new IllegalArgumentException("The window can't be negative.");
+		}
+		this.window = window.toMillis();
+		writer = new Thread(this::run, "save-group");
+		writer.setDaemon(true);
+		writer.start();
+	}
+
+	/**
+	 * Saves a game in the background. Returns once the game is forked, without
+	 * waiting for the save to be written.
+	 * 
+	 * @param path The path of the save.
+	 * @param game The game to save.
+	 * @return Returns the number of the save, to give to await.
+	 */
+	public long save(Path path, GameState game) {
+		Objects.requireNonNull(path);
+		GameState snapshot = game.fork();
+		synchronized (this) {
+			if (closed) {
+				throw new IllegalStateException("The group of saves is closed.");
+			}
+			if (pending.put(path, snapshot) != null) {
+				coalesced++;
+			}
+			notifyAll();
+			return ++requested;
+		}
+	}
+
+	/**
+	 * Waits until a save is written, or replaced by a newer one which is written.
+	 * 
+	 * @param save The number of the save, returned by save.
+	 * @throws InterruptedIOException Throws an InterruptedIOException if the
+	 *                                thread is interrupted.
+	 */
+	public synchronized void await(long save) throws InterruptedIOException {
+		try {
+			while (written < save) {
+				wait();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the save.");
+		}
+	}
+
+	/**
+	 * Returns the last failure of a path, and forgets it.
+	 * 
+	 * @param path The path of the save.
+	 * @return Returns the exception, or null if no save of this path failed since
+	 *         the last call.
+	 */
+	public synchronized IOException getFailure(Path path) {
+		return failures.remove(path);
+	}
+
+	/**
+	 * Getter for the field coalesced.
+	 * 
+	 * @return Returns the number of saves replaced by a newer one before being
+	 *         written.
+	 */
+	public synchronized int getCoalesced() {
+		return coalesced;
+	}
+
+	/**
+	 * Getter for the field batches.
+	 * 
+	 * @return Returns the number of batches written.
+	 */
+	public synchronized int getBatches() {
+		return batches;
+	}
+
+	/**
+	 * Writes the batches until the group is closed.
+	 */
+	private void run() {
+		Map<Path, GameState> batch;
+		long last;
+		while (true) {
+			synchronized (this) {
+				while (pending.isEmpty() && !closed) {
+					waitQuietly(0);
+				}
+				if (pending.isEmpty()) {
+					return;
+				}
+				// Lets the other games join the batch
+				long end = System.currentTimeMillis() + window;
+				for (long left = window; left > 0 && !closed; left = end - System.currentTimeMillis()) {
+					waitQuietly(left);
+				}
+				batch = new LinkedHashMap<>(pending);
+				pending.clear();
+				last = requested;
+			}
+
+			Map<Path, IOException> errors = new HashMap<>();
+			try {
+				Map<Path, byte[]> saves = new LinkedHashMap<>();
+				for (Map.Entry<Path, GameState> save : batch.entrySet()) {
+					try {
+						saves.put(save.getKey(), Backup.encode(save.getValue()));
+					} catch (RuntimeException e) {
+						// Only this game isn't saved
+						errors.put(save.getKey(), new IOException("The game couldn't be encoded.", e));
+					}
+				}
+				errors.putAll(Backup.writeAll(saves));
+			} catch (RuntimeException e) {
+				for (Path path : batch.keySet()) {
+					errors.putIfAbsent(path, new IOException("The save couldn't be written.", e));
+				}
+			} finally {
+				// The waiting threads are released even if the batch failed
+				synchronized (this) {
+					failures.putAll(errors);
+					written = last;
+					batches++;
+					notifyAll();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Waits on the lock of the group, ignoring the interruptions : only close
+	 * stops the writer.
+	 * 
+	 * @param millis The time to wait, 0 to wait until notified.
+	 */
+	private void waitQuietly(long millis) {
+		try {
+			wait(millis);
+		} catch (InterruptedException e) {
+			// Only close stops the writer
+		}
+	}
+
+	/**
+	 * Writes the last saves, then stops the writer.
+	 * 
+	 * @throws InterruptedIOException Throws an InterruptedIOException if the
+	 *                                thread is interrupted.
+	 */
+	@Override
+	public void close() throws InterruptedIOException {
+		synchronized (this) {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			notifyAll();
+		}
+		try {
+			writer.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException("Interrupted while waiting for the saves.");
+		}
+	}
+}
@@ -0,0 +1,144 @@
+package tropico.utils;
+
+import tropico.Difficulty;
+import tropico.Season;
+
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * This class contains the header of a save, which is read without reading the
+ * game : the gamemode, the turn, the season, the number of players, the date
+ * of the save and the difficulty.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public final class SaveInfo {
+
+	/**
+	 * The path of the save, null if it wasn't read from a file.
+	 */
+	private final Path path;
+
+	/**
+	 * The gamemode of the saved game.
+	 */
+	private final String gamemode;
+
+	/**
+	 * The turn of the saved game.
+	 */
+	private final int turn;
+
+	/**
+	 * The season of the saved game.
+	 */
+	private final Season season;
+
+	/**
+	 * The number of players of the saved game.
+	 */
+	private final int playerCount;
+
+	/**
+	 * The date of the save.
+	 */
+	private final Instant timestamp;
+
+	/**
+	 * The difficulty of the saved game.
+	 */
+	private final Difficulty difficulty;
+
+	/**
+	 * <b>SaveInfo's constructor</b>
+	 * 
+	 * @param path        The path of the save, null if it wasn't read from a file.
+	 * @param gamemode    The gamemode of the saved game.
+	 * @param turn        The turn of the saved game.
+	 * @param season      The season of the saved game.
+	 * @param playerCount The number of players of the saved game.
+	 * @param timestamp   The date of the save.
+	 * @param difficulty  The difficulty of the saved game.
+	 */
+	SaveInfo(Path path, String gamemode, int turn, Season season, int playerCount, Instant timestamp,
+			Difficulty difficulty) {
+		this.path = path;
+		this.gamemode = gamemode;
+		this.turn = turn;
+		this.season = season;
+		this.playerCount = playerCount;
+		this.timestamp = timestamp;
+		this.difficulty = difficulty;
+	}
+
+	/**
+	 * Getter for the field path.
+	 * 
+	 * @return Returns the path of the save, null if it wasn't read from a file.
+	 */
+	public Path getPath() {
+		return path;
+	}
+
+	/**
+	 * Getter for the field gamemode.
+	 * 
+	 * @return Returns the gamemode of the saved game.
+	 */
+	public String getGamemode() {
+		return gamemode;
+	}
+
+	/**
+	 * Getter for the field turn.
+	 * 
+	 * @return Returns the turn of the saved game.
+	 */
+	public int getTurn() {
+		return turn;
+	}
+
+	/**
+	 * Getter for the field season.
+	 * 
+	 * @return Returns the season of the saved game.
+	 */
+	public Season getSeason() {
+		return season;
+	}
+
+	/**
+	 * Getter for the field playerCount.
+	 * 
+	 * @return Returns the number of players of the saved game.
+	 */
+	public int getPlayerCount() {
+		return playerCount;
+	}
+
+	/**
+	 * Getter for the field timestamp.
+	 * 
+	 * @return Returns the date of the save.
+	 */
+	public Instant getTimestamp() {
+		return timestamp;
+	}
+
+	/**
+	 * Getter for the field difficulty.
+	 * 
+	 * @return Returns the difficulty of the saved game.
+	 */
+	public Difficulty getDifficulty() {
+		return difficulty;
+	}
+
+	@Override
+	public String toString() {
+		return "SaveInfo{" + "path=" + path + ", gamemode=" + gamemode + ", turn=" + turn + ", season=" + season
+				+ ", playerCount=" + playerCount + ", timestamp=" + timestamp + ", difficulty=" + difficulty + '}';
+	}
+}
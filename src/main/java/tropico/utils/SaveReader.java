@@ -0,0 +1,139 @@
+package tropico.utils;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * This class reads the values written by a SaveWriter, in the same order.
+ * Throws an IOException if the save is truncated or corrupted.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class SaveReader {
+
+	/**
+	 * The bytes of the save, positioned on the next byte to read.
+	 */
+	private final ByteBuffer bytes;
+
+	/**
+	 * <b>SaveReader's constructor</b>
+	 * 
+	 * Creates a reader of the bytes of a save.
+	 * 
+	 * @param bytes The bytes of the save, not copied.
+	 */
+	public SaveReader(byte[] bytes) {
+		this(ByteBuffer.wrap(bytes));
+	}
+
+	/**
+	 * <b>SaveReader's second constructor</b>
+	 * 
+	 * Creates a reader of the bytes of a buffer, from its position to its limit.
+	 * The buffer can be a file mapped in memory.
+	 * 
+	 * @param bytes The buffer, not copied. Its position moves while it is read.
+	 */
+	public SaveReader(ByteBuffer bytes) {
+		this.bytes = Objects.requireNonNull(bytes);
+	}
+
+	/**
+	 * Reads a byte.
+	 * 
+	 * @return Returns the byte, between 0 and 255.
+	 * @throws IOException Throws an EOFException if the save is over.
+	 */
+	public int readByte() throws IOException {
+		if (!bytes.hasRemaining()) {
+			throw new EOFException("The save is truncated.");
+		}
+		return bytes.get() & 0xFF;
+	}
+
+	/**
+	 * Reads an int written on 1 to 5 bytes.
+	 * 
+	 * @return Returns the int.
+	 * @throws IOException Throws an IOException if the save is truncated or the
+	 *                     int is too long.
+	 */
+	public int readInt() throws IOException {
+		int v = 0;
+		for (int shift = 0; shift < 35; shift += 7) {
+			int b = readByte();
+			v |= (b & 0x7F) << shift;
+			if ((b & 0x80) == 0) {
+				return (v >>> 1) ^ -(v & 1);
+			}
+		}
+		throw new IOException("The save is corrupted : an int is too long.");
+	}
+
+	/**
+	 * Reads an int and checks that it is between min and max.
+	 * 
+	 * @param min The minimum value (included).
+	 * @param max The maximum value (included).
+	 * @return Returns the int.
+	 * @throws IOException Throws an IOException if the save is truncated or the
+	 *                     int is out of bounds.
+	 */
+	public int readInt(int min, int max) throws IOException {
+		int value = readInt();
+		if (value < min || value > max) {
+			throw new IOException(
+					"The save is corrupted : " + value + " isn't between " + min + " and " + max + ".");
+		}
+		return value;
+	}
+
+	/**
+	 * Reads a long written on 8 bytes.
+	 * 
+	 * @return Returns the long.
+	 * @throws IOException Throws an EOFException if the save is truncated.
+	 */
+	public long readLong() throws IOException {
+		long value = 0;
+		for (int i = 0; i < 8; i++) {
+			value = (value << 8) | readByte();
+		}
+		return value;
+	}
+
+	/**
+	 * Reads a string written as its length followed by its UTF-8 bytes.
+	 * 
+	 * @return Returns the string.
+	 * @throws IOException Throws an IOException if the save is truncated.
+	 */
+	public String readString() throws IOException {
+		byte[] utf8 = new byte[readInt(0, bytes.remaining())];
+		bytes.get(utf8);
+		return new String(utf8, StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Checks if all the bytes were read.
+	 * 
+	 * @return Returns true if there is nothing left to read.
+	 */
+	public boolean isOver() {
+		return !bytes.hasRemaining();
+	}
+
+	/**
+	 * Returns the number of bytes left to read.
+	 * 
+	 * @return Returns the number of bytes after the position.
+	 */
+	public int remaining() {
+		return bytes.remaining();
+	}
+}
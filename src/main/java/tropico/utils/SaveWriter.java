@@ -0,0 +1,109 @@
+package tropico.utils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * This class writes the values of a save into a growing array of bytes. The
+ * ints are written as variable-length integers (7 bits per byte, small values
+ * using a single byte), zigzag-encoded so that small negative values are small
+ * too. The longs are written on 8 bytes, since the ones of a game (the
+ * positions of the random generators) use all their bits.
+ * 
+ * The values are read back in the same order by a SaveReader.
+ * 
+ * @author Corentin OGER and Sébastien DOS SANTOS
+ *
+ */
+public class SaveWriter {
+
+	/**
+	 * The bytes written so far, followed by free space.
+	 */
+	private byte[] bytes = new byte[256];
+
+	/**
+	 * The number of bytes written.
+	 */
+	private int size;
+
+	/**
+	 * Writes a byte.
+	 * 
+	 * @param value The byte to write.
+	 */
+	public void writeByte(int value) {
+		ensureCapacity(1);
+		bytes[size++] = (byte) value;
+	}
+
+	/**
+	 * Writes an int on 1 to 5 bytes.
+	 * 
+	 * @param value The int to write.
+	 */
+	public void writeInt(int value) {
+		ensureCapacity(5);
+		// Zigzag : 0, -1, 1, -2, ... become 0, 1, 2, 3, ...
+		int v = (value << 1) ^ (value >> 31);
+		while ((v & ~0x7F) != 0) {
+			bytes[size++] = (byte) ((v & 0x7F) | 0x80);
+			v >>>= 7;
+		}
+		bytes[size++] = (byte) v;
+	}
+
+	/**
+	 * Writes a long on 8 bytes.
+	 * 
+	 * @param value The long to write.
+	 */
+	public void writeLong(long value) {
+		ensureCapacity(8);
+		for (int i = 56; i >= 0; i -= 8) {
+			bytes[size++] = (byte) (value >>> i);
+		}
+	}
+
+	/**
+	 * Writes a string as its length followed by its UTF-8 bytes.
+	 * 
+	 * @param value The string to write.
+	 */
+	public void writeString(String value) {
+		byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+		writeInt(utf8.length);
+		ensureCapacity(utf8.length);
+		System.arraycopy(utf8, 0, bytes, size, utf8.length);
+		size += utf8.length;
+	}
+
+	/**
+	 * Getter for the field size.
+	 * 
+	 * @return Returns the number of bytes written.
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * Returns the bytes written.
+	 * 
+	 * @return Returns a copy of the bytes written.
+	 */
+	public byte[] toByteArray() {
+		return Arrays.copyOf(bytes, size);
+	}
+
+	/**
+	 * Makes sure that the array has room for some more bytes.
+	 * 
+	 * @param count The number of bytes that will be written.
+	 */
+	private void ensureCapacity(int count) {
+		if (size + count > bytes.length) {
+			bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + count));
+		}
+	}
+}
@@ -1,33 +1,59 @@
 package tropico.utils;
 
-import com.google.gson.*;
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
 import com.google.gson.reflect.TypeToken;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 
 import tropico.events.*;
-import tropico.DifficultySingleton;
 import tropico.Faction;
+import tropico.FactionSet;
 import tropico.Resources;
+import tropico.ScenarioSettings;
 import tropico.Season;
 
+import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.FileReader;
+import java.io.IOException;
 import java.lang.reflect.Type;
 import java.util.*;
 
 /**
- * This class contains methods to deserialize a json.
+ * This class contains methods to deserialize a json. The events are read as a
+ * stream of tokens, and built as soon as they are read : the file is never
+ * held in memory as a tree, so the memory used only depends on the events.
  * 
  * @author Corentin OGER and Sébastien DOS SANTOS
  *
  */
-public class UtilsDeserialization implements JsonDeserializer<List<Event>> {
+public class UtilsDeserialization {
 
 	/**
-	 * The list of factions, so you can check there isn't a faction that will cause
-	 * an error later.
+	 * The factions, so you can check there isn't a faction that will cause an
+	 * error later, and compile the effects of the choices.
 	 */
-	private List<Faction> factions;
+	private final FactionSet factions;
+
+	/**
+	 * The seasons, by name.
+	 */
+	private static final Map<String, Season> SEASONS = new HashMap<>();
+
+	/**
+	 * The types of resources, by name.
+	 */
+	private static final Map<String, OtherEffect.types> RESOURCES = new HashMap<>();
+
+	static {
+		for (Season season : Season.values()) {
+			SEASONS.put(season.name(), season);
+		}
+		for (OtherEffect.types type : OtherEffect.types.values()) {
+			RESOURCES.put(type.name(), type);
+		}
+	}
 
 	/**
 	 * <b>UtilsDeserialization's constructor</b>
@@ -38,239 +64,285 @@ public class UtilsDeserialization implements JsonDeserializer<List<Event>> {
 	 *                 scenario.
 	 */
 	public UtilsDeserialization(List<Faction> factions) {
+		this(new FactionSet(factions));
+	}
+
+	/**
+	 * <b>UtilsDeserialization's second constructor</b>
+	 * 
+	 * Takes the factions of the scenario, that shouldn't be null.
+	 * 
+	 * @param factions The factions of the current scenario.
+	 */
+	public UtilsDeserialization(FactionSet factions) {
 		this.factions = Objects.requireNonNull(factions);
 	}
 
 	/**
-	 * Custom deserializer for events. Reads a json file and extracts a list of
+	 * Custom deserializer for events. Reads a json array and extracts a list of
 	 * Events.
 	 * 
-	 * @param jsonElement
-	 * @param type
-	 * @param jsonDeserializationContext
+	 * @param in The reader of the json, before the array.
 	 * @return Returns a List of all the events.
-	 * @throws JsonParseException
+	 * @throws IOException Throws an IOException if the json can't be read.
 	 */
-	@Override
-	public List<Event> deserialize(JsonElement jsonElement, Type type,
-			JsonDeserializationContext jsonDeserializationContext) throws JsonParseException {
+	public List<Event> read(JsonReader in) throws IOException {
 		List<Event> events = new ArrayList<>();
 
-		JsonArray jsonArray = jsonElement.getAsJsonArray();
-		for (JsonElement element : jsonArray) {
-			events.add(deserializeEvent(element.getAsJsonObject(), jsonDeserializationContext));
+		in.beginArray();
+		while (in.hasNext()) {
+			events.add(readEvent(in));
 		}
+		in.endArray();
 		return events;
 	}
 
 	/**
-	 * Deserializes a JsonObject as an event. Checks if optionnal fields are
-	 * missing, and creates default variables if so.
+	 * Reads a json object as an event. Checks if optionnal fields are missing,
+	 * and creates default variables if so.
 	 * 
-	 * @param obj The JsonObject supposed to be an Event.
-	 * @param context
+	 * @param in The reader of the json, before the object.
 	 * @return Returns an Event.
+	 * @throws IOException Throws an IOException if the json can't be read.
 	 */
-	private Event deserializeEvent(JsonObject obj, JsonDeserializationContext context) {
-		String name = obj.get("name").getAsString();
-		List<Season> seasons;
-
+	private Event readEvent(JsonReader in) throws IOException {
+		String name = null;
 		// If season isn't here, the event can occur during any of them
-		if (obj.has("seasons")) {
-			seasons = deserializeSeasons(obj.get("seasons").getAsJsonArray(), context);
-		} else {
-			seasons = Arrays.asList(Season.values());
+		List<Season> seasons = Arrays.asList(Season.values());
+		List<Choice> choices = null;
+
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+			case "name":
+				name = in.nextString();
+				break;
+			case "seasons":
+				seasons = readSeasons(in);
+				break;
+			case "choices":
+				choices = new ArrayList<>();
+				in.beginArray();
+				while (in.hasNext()) {
+					choices.add(readChoice(in));
+				}
+				in.endArray();
+				break;
+			default:
+				in.skipValue();
+			}
 		}
+		in.endObject();
 
-		// Calls the method to deserialize the choices
-		List<Choice> choices = new ArrayList<>();
-		obj.get("choices").getAsJsonArray()
-				.forEach(choice -> choices.add(deserializeChoice(choice.getAsJsonObject(), context)));
-
+		if (name == null || choices == null) {
+			throw new IllegalStateException("An event must have a name and choices.");
+		}
 		return new Event(name, seasons, choices);
 	}
 
 	/**
-	 * Deserializes a JsonArray as a list of seasons. The array is supposed to be a list of seasons.
+	 * Reads a json array as a list of seasons.
 	 * 
-	 * @param array The JsonArray supposed to be a list of seasons.
-	 * @param context
+	 * @param in The reader of the json, before the array.
 	 * @return Returns a List of Seasons.
+	 * @throws IOException Throws an IOException if the json can't be read.
 	 */
-	private List<Season> deserializeSeasons(JsonArray array, JsonDeserializationContext context) {
+	private static List<Season> readSeasons(JsonReader in) throws IOException {
 		List<Season> seasons = new ArrayList<>();
 
-		Type seasonType = new TypeToken<Season>() {
-		}.getType();
-
-		array.forEach(elem -> {
-			Season season = context.deserialize(elem, seasonType);
-			if (!Season.contains(season))
-				throw new IllegalStateException("Season " + season + " is not available");
+		in.beginArray();
+		while (in.hasNext()) {
+			String name = in.nextString();
+			Season season = SEASONS.get(name);
+			if (season == null)
+				throw new IllegalStateException("Season " + name + " is not available");
 			seasons.add(season);
-		});
+		}
+		in.endArray();
 		return seasons;
 	}
 
 	/**
-	 * Deserializes a JsonObject as a Choice. Replaces optional field by default inputs.
+	 * Reads a json object as a Choice. Replaces optional field by default inputs.
 	 * 
-	 * @param obj The JsonObject supposed to be a Choice.
-	 * @param context
+	 * @param in The reader of the json, before the object.
 	 * @return Returns a Choice object.
+	 * @throws IOException Throws an IOException if the json can't be read.
 	 */
-	private Choice deserializeChoice(JsonObject obj, JsonDeserializationContext context) {
-		String label = obj.get("label").getAsString();
-		JsonArray effects = obj.getAsJsonArray("effects");
+	private Choice readChoice(JsonReader in) throws IOException {
+		String label = null;
+		ArrayList<Effect> effects = null;
 		Event next = null;
 
-		// Verifying that next event exists
-		if (obj.has("next") && !obj.get("next").isJsonNull()) {
-			next = deserializeEvent(obj.get("next").getAsJsonObject(), context);
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+			case "label":
+				label = in.nextString();
+				break;
+			case "effects":
+				effects = readEffects(in);
+				break;
+			case "next":
+				// Verifying that next event exists
+				if (in.peek() == JsonToken.NULL) {
+					in.nextNull();
+				} else {
+					next = readEvent(in);
+				}
+				break;
+			default:
+				in.skipValue();
+			}
 		}
+		in.endObject();
 
-		return new Choice(label, deserializeEffects(effects, context), next);
+		if (label == null || effects == null) {
+			throw new IllegalStateException("A choice must have a label and effects.");
+		}
+		return new Choice(label, effects, next, factions);
 	}
 
 	/**
-	 * Deserializes a JsonArray as an ArrayList of Effects.
+	 * Reads a json array as an ArrayList of Effects.
 	 * 
-	 * @param array The JsonArray supposed to be a list of effects.
-	 * @param context
+	 * @param in The reader of the json, before the array.
 	 * @return Returns an ArrayList of Effects.
+	 * @throws IOException Throws an IOException if the json can't be read.
 	 */
-	private ArrayList<Effect> deserializeEffects(JsonArray array, JsonDeserializationContext context) {
+	private ArrayList<Effect> readEffects(JsonReader in) throws IOException {
 		ArrayList<Effect> effects = new ArrayList<>();
 
-		// Calls another method to deserialize one event
-		array.forEach(effect -> effects.addAll(deserializeEffect(effect.getAsJsonObject(), context)));
+		in.beginArray();
+		while (in.hasNext()) {
+			readEffect(in, effects);
+		}
+		in.endArray();
 		return effects;
 	}
 
 	/**
-	 * Deserializes a JsonObject as a Collection of Effects.
+	 * Reads a json object as one or several Effects. The fields of an effect can
+	 * come in any order, so they are all read before the effect is built.
 	 * 
-	 * @param effect The JsonObject supposed to be an effect.
-	 * @param context
-	 * @return Returns an Effect.
+	 * @param in      The reader of the json, before the object.
+	 * @param effects The list where the effects are added.
+	 * @throws IOException Throws an IOException if the json can't be read.
 	 * @throws IllegalStateException if type is invalid
 	 */
-	private Collection<Effect> deserializeEffect(JsonObject effect, JsonDeserializationContext context) {
-		switch (effect.get("type").getAsString()) {
+	private void readEffect(JsonReader in, List<Effect> effects) throws IOException {
+		String type = null;
+		String faction = null;
+		String resource = null;
+		int value = 0;
+		boolean percentage = false;
+
+		in.beginObject();
+		while (in.hasNext()) {
+			switch (in.nextName()) {
+			case "type":
+				type = in.nextString();
+				break;
+			case "faction":
+				faction = in.nextString();
+				break;
+			case "resource":
+				resource = in.nextString();
+				break;
+			case "value":
+				value = in.nextInt();
+				break;
+			case "percentage":
+				percentage = in.nextBoolean();
+				break;
+			default:
+				in.skipValue();
+			}
+		}
+		in.endObject();
+
+		if (type == null) {
+			throw new IllegalStateException("Type invalide.");
+		}
+		switch (type) {
 		case "satisfaction":
-			return deserializeSatisfactionEffect(effect, context);
+			addSatisfactionEffects(faction, value, effects);
+			break;
 		case "supporter":
-			return deserializeSupporterEffect(effect, context);
+			addSupporterEffects(faction, value, percentage, effects);
+			break;
 		case "resources":
-			return List.of(deserializeResourcesEffect(effect, context));
+			effects.add(createResourcesEffect(resource, value));
+			break;
 		default:
 			throw new IllegalStateException("Type invalide.");
 		}
 	}
 
 	/**
-	 * Deserializes resource effect.
+	 * Creates a resource effect. The value is not scaled, the difficulty of each
+	 * game is applied when the effect is applied to a player.
 	 * 
-	 * @param effect
-	 * @param context
+	 * @param resource The name of the resource.
+	 * @param value    The value of the effect.
 	 * @return Returns an OtherEffect.
 	 */
-	private Effect deserializeResourcesEffect(JsonObject effect, JsonDeserializationContext context) {
-		Type resourceType = new TypeToken<OtherEffect.types>() {
-		}.getType();
-		OtherEffect.types type = context.deserialize(effect.get("resource"), resourceType);
+	private static Effect createResourcesEffect(String resource, int value) {
+		OtherEffect.types type = resource == null ? null : RESOURCES.get(resource);
 		if (type == null)
-			throw new IllegalStateException(effect.get("resource") + " is not a valid resource");
-		int value = effect.get("value").getAsInt();
-		float multiplier = 1;
-
-		switch (DifficultySingleton.getDifficulty()) {
-		case EASY:
-			multiplier = 0.5f;
-			break;
-		case MEDIUM:
-			multiplier = 1;
-			break;
-		case HARD:
-			multiplier = 1.5f;
-			break;
-
-		}
-		if (value < 0) {
-			value *= multiplier;
-		}
-
+			throw new IllegalStateException(resource + " is not a valid resource");
 		return new OtherEffect(type, value);
 	}
 
 	/**
-	 * Deserializes Supporter effect. Can return multiple if "faction" equals "all".
+	 * Creates supporter effects. Creates one for each faction if "faction" equals
+	 * "all".
 	 * 
-	 * @param effect
-	 * @param context
-	 * @return Returns a SupporterNumberEffect.
+	 * @param faction    The name of the faction, or "all".
+	 * @param value      The value of the effect.
+	 * @param percentage True if the value is a percentage of the supporters.
+	 * @param effects    The list where the effects are added.
 	 */
-	private List<Effect> deserializeSupporterEffect(JsonObject effect, JsonDeserializationContext context) {
-		String faction = effect.get("faction").getAsString();
-		int value = effect.get("value").getAsInt();
-		boolean percentage;
-		if (effect.has("percentage")) {
-			percentage = effect.get("percentage").getAsBoolean();
-		} else {
-			percentage = false;
-		}
-
-		if (faction.equals("all")) {
-			List<Effect> effects = new ArrayList<Effect>();
-			for (Faction f : factions) {
+	private void addSupporterEffects(String faction, int value, boolean percentage, List<Effect> effects) {
+		if ("all".equals(faction)) {
+			for (Faction f : factions.getFactions()) {
 				effects.add(new SupporterNumberEffect(f.getName(), value, percentage));
 			}
-
-			return effects;
+			return;
 		}
 
 		if (!existsFaction(faction)) {
 			throw new IllegalArgumentException("La faction \"" + faction + "\" n'existe pas.");
 		}
 
-		return List.of(new SupporterNumberEffect(faction, value, percentage));
+		effects.add(new SupporterNumberEffect(faction, value, percentage));
 	}
 
 	/**
-	 * Deserializes satisfaction effect. Can return multiple if "faction" equals "all".
+	 * Creates satisfaction effects. Creates one for each faction if "faction"
+	 * equals "all".
 	 * 
-	 * @param effect
-	 * @param context
-	 * @return Returns a lis FactionSatisfactionEffect.
+	 * @param faction The name of the faction, or "all".
+	 * @param value   The value of the effect.
+	 * @param effects The list where the effects are added.
 	 */
-	private List<Effect> deserializeSatisfactionEffect(JsonObject effect, JsonDeserializationContext context) {
-		String faction = effect.get("faction").getAsString();
-		int value = effect.get("value").getAsInt();
-
-		if (faction.equals("all")) {
-			List<Effect> effects = new ArrayList<Effect>();
-			for (Faction f : factions) {
+	private void addSatisfactionEffects(String faction, int value, List<Effect> effects) {
+		if ("all".equals(faction)) {
+			for (Faction f : factions.getFactions()) {
 				effects.add(new FactionSatisfactionEffect(f.getName(), value));
 			}
-
-			return effects;
+			return;
 		}
 
 		if (!existsFaction(faction)) {
 			throw new IllegalArgumentException("La faction \"" + faction + "\" n'existe pas.");
 		}
 
-		return List.of(new FactionSatisfactionEffect(faction, value));
+		effects.add(new FactionSatisfactionEffect(faction, value));
 	}
 
 	private boolean existsFaction(String factionName) {
-		for (Faction faction : factions) {
-			if (faction.isName(factionName)) {
-				return true;
-			}
-		}
-
-		return false;
+		return factionName != null && factions.contains(factionName);
 	}
 
 	/**
@@ -288,6 +360,34 @@ public class UtilsDeserialization implements JsonDeserializer<List<Event>> {
 		return gson.fromJson(new JsonReader(new FileReader(path)), eventType);
 	}
 
+	/**
+	 * Loads the settings of a scenario from a json file. The settings are optional,
+	 * so the default ones are returned if the file doesn't exist or is empty.
+	 *
+	 * @param path The path where the json file should be located.
+	 * @return Returns a ScenarioSettings object.
+	 * @throws FileNotFoundException
+	 */
+	public static ScenarioSettings loadSettings(String path) throws FileNotFoundException {
+		if (!new File(path).isFile()) {
+			return new ScenarioSettings();
+		}
+
+		Gson gson = new Gson();
+		ScenarioSettings settings;
+		try (JsonReader reader = new JsonReader(new FileReader(path))) {
+			settings = gson.fromJson(reader, ScenarioSettings.class);
+		} catch (IOException e) {
+			throw new JsonIOException(e);
+		}
+		// An empty file gives no settings
+		if (settings == null) {
+			return new ScenarioSettings();
+		}
+		// Checks the values read by gson
+		return new ScenarioSettings(settings.getPendingEventProbability());
+	}
+
 	/**
 	 * Loads resources from a json file.
 	 *